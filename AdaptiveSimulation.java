@@ -0,0 +1,258 @@
+import java.lang.Math;
+
+/**
+ * <h1> AdaptiveSimulation </h1>
+ *
+ * Runs the path follower without always stepping by the RoboRIO period. Pure pursuit's wheel commands are held for
+ * the whole step, so a big step is only wrong by however much the commands would have changed if they'd been
+ * resampled partway through.
+ *
+ * The step size comes from step doubling: from the same state we take one step of {@code h} and two steps of
+ * {@code h / 2} (resampling pure pursuit in the middle), and how far apart they end up is the estimate of the
+ * error against a finer step. Too far apart and the step is thrown away and tried again smaller; otherwise we keep
+ * the two half steps and pick the next step size from the estimate. So straights get big steps, and curves and
+ * the end of the path (where the step is also capped so we can't jump past the goal) get small ones.
+ *
+ * It's an estimate of the error per step, not of the whole run, so check the end against {@code runControllerRate}
+ * with {@code positionError} and {@code angleError}. At {@code minStep} it just takes a normal step with no estimate.
+ *
+ * {@code runControllerRate} is the exact version: it only asks pure pursuit for new wheel velocities on real control
+ * period boundaries and holds them in between, like the robot does. {@code Robot.tankDrive} is exact for constant
+ * wheel velocities (uniform circular motion), so that's one step per period with no integration error. It stops the
+ * same way {@code run} does and keeps the same stats, so the two can be compared directly.
+ *
+ * <b> UNITS ARE IN INCHES. </b>
+ *
+ * @since 2026-10-19
+ */
+public class AdaptiveSimulation {
+    // Plain steps to take at minStep after the estimate has shrunk the step all the way down, before trying bigger again.
+    public static final int HOLD_STEPS = 4;
+
+    public double minStep;
+    public double maxStep;
+    // How far apart, in inches, one step and two half steps can end up before the step gets thrown away.
+    public double tolerance;
+    // How close, in inches, the robot has to get to the last path point to count as done.
+    public double goalRadius;
+    public double maxTime;
+    // Gets every step added to it, if it isn't null.
+    public TrackingMetrics metrics;
+
+    // tankDrive calls, counting the ones step doubling makes and the ones it throws away.
+    public int steps;
+    // Steps thrown away because the estimate was over the tolerance.
+    public int rejected;
+    public double simTime;
+    public boolean reachedGoal;
+
+    private final double[] first;
+    private final double[] middle;
+    private final double[] end;
+
+    /**
+     * Constructor.
+     *
+     * @param minStep The smallest step, in seconds. Usually the control period.
+     * @param maxStep The biggest step, in seconds.
+     * @param tolerance How far apart, in inches, one step and two half steps can end up before the step gets smaller.
+     */
+    public AdaptiveSimulation(double minStep, double maxStep, double tolerance) {
+        this.minStep = minStep;
+        this.maxStep = maxStep;
+        this.tolerance = tolerance;
+        this.goalRadius = 1.0;
+        this.maxTime = 60.0;
+        this.first = new double[SimulationState.SIZE];
+        this.middle = new double[SimulationState.SIZE];
+        this.end = new double[SimulationState.SIZE];
+    }
+
+    /**
+     * Follows the path with a variable step, using step doubling to keep the error of each step under the tolerance.
+     *
+     * @param generator The path generator.
+     * @param robot The robot. Its {@code timeInterval} is put back the way it was when we're done.
+     */
+    public void run(PathGenerator generator, Robot robot) {
+        double originalInterval = robot.timeInterval;
+        double step = this.minStep;
+        int hold = 0;
+        start();
+
+        while(this.simTime < this.maxTime) {
+            double distance = distanceToGoal(generator, robot);
+            if(distance <= this.goalRadius) {
+                this.reachedGoal = true;
+                break;
+            }
+
+            generator.updatePos(robot.robotPos, robot.robotAngle);
+            double left = generator.velocity(robot.trackLength, true);
+            double right = generator.velocity(robot.trackLength, false);
+
+            if(hold == 0 && step <= this.minStep) {
+                step = Math.min(this.maxStep, 2.0 * this.minStep);
+            }
+            // Don't let one step carry us more than half the remaining distance.
+            double h = step;
+            double fastest = Math.max(Math.abs(left), Math.abs(right));
+            if(fastest > 0.0) {
+                h = Math.min(h, 0.5 * distance / fastest);
+            }
+
+            SimulationState.capture(generator, robot, this.simTime, this.first);
+            while(h > this.minStep) {
+                double error = tryStep(generator, robot, h, left, right);
+                // Error of a held step goes up with h squared.
+                double factor = error > 0.0 ? 0.9 * Math.sqrt(this.tolerance / error) : 2.0;
+                if(error <= this.tolerance) {
+                    step = Math.max(this.minStep, Math.min(this.maxStep, h * Math.min(2.0, Math.max(0.5, factor))));
+                    break;
+                }
+                this.rejected++;
+                SimulationState.restore(this.first, generator, robot);
+                h = Math.max(this.minStep, h * Math.max(0.25, factor));
+                step = h;
+                if(h <= this.minStep) {
+                    hold = HOLD_STEPS;
+                }
+            }
+
+            if(h <= this.minStep) {
+                h = this.minStep;
+                robot.timeInterval = h;
+                if(this.metrics != null) {
+                    this.metrics.record(generator, left, right, h);
+                }
+                robot.tankDrive(left, right);
+                this.steps++;
+                if(hold > 0) {
+                    hold--;
+                }
+            }
+            this.simTime += h;
+        }
+
+        if(this.metrics != null) {
+            this.metrics.finish(this.reachedGoal);
+        }
+        robot.timeInterval = originalInterval;
+    }
+
+    /**
+     * Follows the path at the controller's rate. Pure pursuit is sampled once at the start of each control period and
+     * its output is held for the whole period, which is one {@code tankDrive} call.
+     *
+     * @param generator The path generator.
+     * @param robot The robot. Its {@code timeInterval} is put back the way it was when we're done.
+     * @param controlPeriod How often the real controller runs, in seconds. 0.02 for the RoboRIO.
+     */
+    public void runControllerRate(PathGenerator generator, Robot robot, double controlPeriod) {
+        double originalInterval = robot.timeInterval;
+        robot.timeInterval = controlPeriod;
+        start();
+
+        while(this.simTime < this.maxTime) {
+            if(distanceToGoal(generator, robot) <= this.goalRadius) {
+                this.reachedGoal = true;
+                break;
+            }
+
+            generator.updatePos(robot.robotPos, robot.robotAngle);
+            double left = generator.velocity(robot.trackLength, true);
+            double right = generator.velocity(robot.trackLength, false);
+            if(this.metrics != null) {
+                this.metrics.record(generator, left, right, controlPeriod);
+            }
+            robot.tankDrive(left, right);
+            this.simTime += controlPeriod;
+            this.steps++;
+        }
+
+        if(this.metrics != null) {
+            this.metrics.finish(this.reachedGoal);
+        }
+        robot.timeInterval = originalInterval;
+    }
+
+    /**
+     * Takes one step of {@code h} and two of {@code h / 2} from the state in {@code first}, and leaves the robot and
+     * generator after the two half steps.
+     *
+     * @return How far apart the two ended up, in inches.
+     */
+    private double tryStep(PathGenerator generator, Robot robot, double h, double left, double right) {
+        robot.timeInterval = h;
+        robot.tankDrive(left, right);
+        double x = robot.robotPos[0][0];
+        double y = robot.robotPos[0][1];
+        SimulationState.restore(this.first, generator, robot);
+
+        robot.timeInterval = 0.5 * h;
+        robot.tankDrive(left, right);
+        generator.updatePos(robot.robotPos, robot.robotAngle);
+        double midLeft = generator.velocity(robot.trackLength, true);
+        double midRight = generator.velocity(robot.trackLength, false);
+        if(this.metrics != null) {
+            SimulationState.capture(generator, robot, this.simTime + 0.5 * h, this.middle);
+        }
+        robot.tankDrive(midLeft, midRight);
+        double error = PathGenerator.Magnitude(x, y, robot.robotPos[0][0], robot.robotPos[0][1]);
+        this.steps += 3;
+
+        // The metrics only get the half steps, and only once we know they're being kept.
+        if(this.metrics != null && error <= this.tolerance) {
+            SimulationState.capture(generator, robot, this.simTime + h, this.end);
+            SimulationState.restore(this.first, generator, robot);
+            this.metrics.record(generator, left, right, 0.5 * h);
+            SimulationState.restore(this.middle, generator, robot);
+            this.metrics.record(generator, midLeft, midRight, 0.5 * h);
+            SimulationState.restore(this.end, generator, robot);
+        }
+
+        return error;
+    }
+
+    /**
+     * How far off an adaptive run ended up compared to a fixed step run of the same path.
+     *
+     * @param reference The robot from the fixed step run.
+     * @param candidate The robot from the adaptive run.
+     *
+     * @return The distance between the two final positions, in inches.
+     */
+    public static double positionError(Robot reference, Robot candidate) {
+        return PathGenerator.Magnitude(reference.robotPos[0][0], reference.robotPos[0][1], candidate.robotPos[0][0], candidate.robotPos[0][1]);
+    }
+
+    /**
+     * How far off the final heading is compared to a fixed step run.
+     *
+     * @param reference The robot from the fixed step run.
+     * @param candidate The robot from the adaptive run.
+     *
+     * @return The heading difference, in degrees, from 0 to 180.
+     */
+    public static double angleError(Robot reference, Robot candidate) {
+        double difference = Math.abs(reference.robotAngle - candidate.robotAngle) % 360.0;
+
+        return Math.min(difference, 360.0 - difference);
+    }
+
+    private void start() {
+        this.steps = 0;
+        this.rejected = 0;
+        this.simTime = 0.0;
+        this.reachedGoal = false;
+        if(this.metrics != null) {
+            this.metrics.reset();
+        }
+    }
+
+    private static double distanceToGoal(PathGenerator generator, Robot robot) {
+        int goal = generator.pointCount() - 1;
+
+        return PathGenerator.Magnitude(generator.pointX(goal), generator.pointY(goal), robot.robotPos[0][0], robot.robotPos[0][1]);
+    }
+}
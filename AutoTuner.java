@@ -0,0 +1,316 @@
+import java.lang.Math;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * <h1> AutoTuner </h1>
+ *
+ * Tunes the {@code PathGenerator} and {@code Robot} numbers we used to guess by editing {@code Main}:
+ * lookahead radius, max path velocity, acceleration, and track length.
+ *
+ * It's Nelder-Mead (no derivatives needed, which is good because the simulation definitely doesn't have any).
+ * Every iteration evaluates the reflection, expansion and both contractions at the same time on all the cores,
+ * and any of them that's already no better than the worst point of the simplex gets stopped early. A stopped run keeps
+ * the cost it had so far, which is a lower bound on what it would have ended up with and already at least the worst
+ * point's, so Nelder-Mead still ranks it correctly. Every run in a batch gets the same bound, so the result doesn't
+ * depend on which thread finishes first.
+ *
+ * The cost of a run is how long it takes to reach the end of the path plus {@code errorWeight} times the
+ * worst cross-track error (see {@code TrackingMetrics}). Runs that never get there cost infinity.
+ *
+ * <b> UNITS ARE IN INCHES. </b>
+ *
+ * @since 2026-10-19
+ */
+public class AutoTuner {
+    // Index of each parameter in a parameter array
+    public static final int LOOKAHEAD = 0;
+    public static final int MAX_VEL = 1;
+    public static final int ACCEL = 2;
+    public static final int TRACK_LENGTH = 3;
+    public static final int PARAMETERS = 4;
+
+    public double[][] route;
+    public double[] lowerBounds;
+    public double[] upperBounds;
+    public double timeInterval;
+    public double errorWeight;
+    // Runs with a worse max error than this are thrown out no matter how fast they are.
+    public double errorBound;
+    public double goalRadius;
+    public double maxTime;
+    public int maxIterations;
+    public int threads;
+
+    // Every run we've done, in the order they finished.
+    public List<Evaluation> log;
+    public Evaluation best;
+
+    /**
+     * One simulation run.
+     */
+    public static class Evaluation {
+        public final double[] parameters;
+        public final double cost;
+        public final double time;
+        public final double maxError;
+        // True if we stopped it early because it couldn't beat the best run anymore.
+        public final boolean aborted;
+
+        public Evaluation(double[] parameters, double cost, double time, double maxError, boolean aborted) {
+            this.parameters = parameters;
+            this.cost = cost;
+            this.time = time;
+            this.maxError = maxError;
+            this.aborted = aborted;
+        }
+
+        @Override
+        public String toString() {
+            return "lookahead " + this.parameters[LOOKAHEAD] + ", max vel " + this.parameters[MAX_VEL] + ", accel " + this.parameters[ACCEL]
+                + ", track " + this.parameters[TRACK_LENGTH] + " -> cost " + this.cost + " (time " + this.time + " s, max error " + this.maxError
+                + " in" + (this.aborted ? ", stopped early)" : ")");
+        }
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param route The path, like what goes into {@code PathGenerator}.
+     * @param lowerBounds The smallest value for each parameter, in {@code LOOKAHEAD}, {@code MAX_VEL}, {@code ACCEL}, {@code TRACK_LENGTH} order.
+     * @param upperBounds The biggest value for each parameter.
+     */
+    public AutoTuner(double[][] route, double[] lowerBounds, double[] upperBounds) {
+        this.route = route;
+        this.lowerBounds = lowerBounds.clone();
+        this.upperBounds = upperBounds.clone();
+        this.timeInterval = 0.02;
+        this.errorWeight = 1.0;
+        this.errorBound = Double.POSITIVE_INFINITY;
+        this.goalRadius = 1.0;
+        this.maxTime = 60.0;
+        this.maxIterations = 100;
+        this.threads = Runtime.getRuntime().availableProcessors();
+        this.log = Collections.synchronizedList(new ArrayList<Evaluation>());
+    }
+
+    /**
+     * Runs Nelder-Mead starting from a guess.
+     *
+     * @param initial The starting parameters.
+     *
+     * @return The best run.
+     */
+    public Evaluation tune(double[] initial) {
+        ExecutorService pool = Executors.newFixedThreadPool(this.threads);
+        try {
+            // Start with a simplex that goes 10% of the range out along each axis.
+            double[][] starts = new double[PARAMETERS + 1][];
+            starts[0] = clamp(initial);
+            for(int i = 0; i < PARAMETERS; ++i) {
+                starts[i + 1] = starts[0].clone();
+                starts[i + 1][i] += 0.1 * (this.upperBounds[i] - this.lowerBounds[i]);
+                starts[i + 1] = clamp(starts[i + 1]);
+            }
+            Evaluation[] simplex = evaluateAll(pool, starts, Double.POSITIVE_INFINITY);
+
+            for(int iteration = 0; iteration < this.maxIterations; ++iteration) {
+                sort(simplex);
+                double[] centroid = new double[PARAMETERS];
+                for(int i = 0; i < PARAMETERS; ++i) {
+                    for(int j = 0; j < PARAMETERS; ++j) {
+                        centroid[j] += simplex[i].parameters[j] / PARAMETERS;
+                    }
+                }
+                double[] worst = simplex[PARAMETERS].parameters;
+
+                // Evaluate every move Nelder-Mead might want at once, then pick. None of them gets used unless it beats the worst point.
+                Evaluation[] moves = evaluateAll(pool, new double[][] {
+                    clamp(along(centroid, worst, -1.0)),
+                    clamp(along(centroid, worst, -2.0)),
+                    clamp(along(centroid, worst, -0.5)),
+                    clamp(along(centroid, worst, 0.5)),
+                }, simplex[PARAMETERS].cost);
+                Evaluation reflected = moves[0];
+                Evaluation expanded = moves[1];
+                Evaluation outside = moves[2];
+                Evaluation inside = moves[3];
+
+                if(reflected.cost < simplex[0].cost) {
+                    simplex[PARAMETERS] = expanded.cost < reflected.cost ? expanded : reflected;
+                } else if(reflected.cost < simplex[PARAMETERS - 1].cost) {
+                    simplex[PARAMETERS] = reflected;
+                } else if(reflected.cost < simplex[PARAMETERS].cost && outside.cost <= reflected.cost) {
+                    simplex[PARAMETERS] = outside;
+                } else if(inside.cost < simplex[PARAMETERS].cost) {
+                    simplex[PARAMETERS] = inside;
+                } else {
+                    // Shrink everything towards the best point.
+                    double[][] shrunk = new double[PARAMETERS][];
+                    for(int i = 1; i <= PARAMETERS; ++i) {
+                        shrunk[i - 1] = clamp(along(simplex[0].parameters, simplex[i].parameters, 0.5));
+                    }
+                    // These become vertices, so they need their real costs.
+                    Evaluation[] shrunkRuns = evaluateAll(pool, shrunk, Double.POSITIVE_INFINITY);
+                    System.arraycopy(shrunkRuns, 0, simplex, 1, PARAMETERS);
+                }
+
+                if(converged(simplex)) {
+                    break;
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        return this.best;
+    }
+
+    /**
+     * Simulates one set of parameters. Stops early once the run can't get under {@code bound} anymore.
+     *
+     * @param parameters The parameters.
+     * @param bound The cost to get under. Infinity to always finish.
+     *
+     * @return The run. If it got stopped, its cost is what it had so far, which is a lower bound on its real cost.
+     */
+    public Evaluation evaluate(double[] parameters, double bound) {
+        // Reuse this thread's generator, robot and metrics instead of making new ones for every run.
+        SimulationContext context = SimulationContext.forThread();
+        context.reset(this.route, parameters[MAX_VEL], parameters[ACCEL], parameters[LOOKAHEAD], this.timeInterval, parameters[TRACK_LENGTH]);
+        Robot robot = context.robot;
+        TrackingMetrics metrics = context.metrics;
+        double[] goal = this.route[this.route.length - 1];
+
+        while(metrics.time() < this.maxTime) {
+            if(PathGenerator.Magnitude(goal[0], goal[1], robot.robotPos[0][0], robot.robotPos[0][1]) <= this.goalRadius) {
+                double cost = metrics.time() + this.errorWeight * metrics.maxCrossTrack();
+                return new Evaluation(parameters, cost, metrics.time(), metrics.maxCrossTrack(), false);
+            }
+
+            context.step();
+
+            double maxError = metrics.maxCrossTrack();
+            if(Double.isNaN(maxError) || Double.isNaN(robot.robotPos[0][0])) {
+                break;
+            }
+            if(maxError > this.errorBound) {
+                return new Evaluation(parameters, Double.POSITIVE_INFINITY, metrics.time(), maxError, true);
+            }
+            // Time and max error only go up, so this is already a lower bound on the final cost.
+            double soFar = metrics.time() + this.errorWeight * maxError;
+            if(soFar >= bound) {
+                return new Evaluation(parameters, soFar, metrics.time(), maxError, true);
+            }
+        }
+
+        return new Evaluation(parameters, Double.POSITIVE_INFINITY, metrics.time(), metrics.maxCrossTrack(), false);
+    }
+
+    /**
+     * Runs a batch at the same time.
+     *
+     * @param pool The threads.
+     * @param candidates The parameters of each run.
+     * @param bound Passed to every {@code evaluate}, so how early a run stops doesn't depend on the others.
+     *
+     * @return The runs, in the same order.
+     */
+    private Evaluation[] evaluateAll(ExecutorService pool, double[][] candidates, double bound) {
+        List<Callable<Evaluation>> tasks = new ArrayList<Callable<Evaluation>>();
+        for(double[] candidate : candidates) {
+            tasks.add(() -> record(evaluate(candidate, bound)));
+        }
+        Evaluation[] result = new Evaluation[candidates.length];
+        try {
+            List<Future<Evaluation>> futures = pool.invokeAll(tasks);
+            for(int i = 0; i < result.length; ++i) {
+                result[i] = futures.get(i).get();
+            }
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tuning got interrupted.", e);
+        } catch(ExecutionException e) {
+            throw new IllegalStateException("A tuning run crashed.", e.getCause());
+        }
+
+        return result;
+    }
+
+    private synchronized Evaluation record(Evaluation evaluation) {
+        this.log.add(evaluation);
+        // A stopped run's cost is only a lower bound, so it never counts as the best.
+        if(!evaluation.aborted && (this.best == null || evaluation.cost < this.best.cost)) {
+            this.best = evaluation;
+        }
+
+        return evaluation;
+    }
+
+    private double[] clamp(double[] parameters) {
+        double[] result = new double[PARAMETERS];
+        for(int i = 0; i < PARAMETERS; ++i) {
+            result[i] = Math.max(this.lowerBounds[i], Math.min(this.upperBounds[i], parameters[i]));
+        }
+
+        return result;
+    }
+
+    /**
+     * The point {@code from + scale * (to - from)}.
+     */
+    private static double[] along(double[] from, double[] to, double scale) {
+        double[] result = new double[PARAMETERS];
+        for(int i = 0; i < PARAMETERS; ++i) {
+            result[i] = from[i] + scale * (to[i] - from[i]);
+        }
+
+        return result;
+    }
+
+    private static void sort(Evaluation[] simplex) {
+        Arrays.sort(simplex, (a, b) -> Double.compare(a.cost, b.cost));
+    }
+
+    private boolean converged(Evaluation[] simplex) {
+        for(int i = 0; i < PARAMETERS; ++i) {
+            double range = this.upperBounds[i] - this.lowerBounds[i];
+            for(int j = 1; j <= PARAMETERS; ++j) {
+                if(Math.abs(simplex[j].parameters[i] - simplex[0].parameters[i]) > 1e-3 * range) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    public static void main(String[] args) {
+        Spline spline = new Spline(new double[][] {
+            {0.0, 0.0},
+            {1.0, 1.0},
+            {0.0, 0.0},
+        }, new double[][] {
+            {100.0, 100.0},
+            {0.0, 0.0},
+            {0.0, 0.0},
+        });
+        double[][] route = spline.interpolateEven(0.00001, 6.0);
+
+        AutoTuner tuner = new AutoTuner(route, new double[] {6.0, 5.0, 1.0, 20.0}, new double[] {30.0, 60.0, 20.0, 40.0});
+        Evaluation result = tuner.tune(new double[] {12.0, 10.0, 2.0, 34.0});
+
+        for(Evaluation evaluation : tuner.log) {
+            System.out.println(evaluation);
+        }
+        System.out.println("Runs: " + tuner.log.size());
+        System.out.println("Best: " + result);
+    }
+}
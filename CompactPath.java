@@ -0,0 +1,266 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * <h1> CompactPath </h1>
+ *
+ * A path squished down for the RoboRIO, which doesn't have much heap. Instead of a {@code double[]} row
+ * per waypoint (plus a {@code segV} entry), each value is stored as a 16 bit fixed point number, in one array per column:
+ * x, y, target velocity, and arc length. That's 8 bytes a point instead of 60ish.
+ *
+ * Each column gets its own offset and step, picked from that column's min and max, so the rounding error in a column
+ * is at most half a step: {@code (max - min) / 65535 / 2}. For a 150 inch path that's about a thousandth of an inch.
+ * See {@code maxError}.
+ *
+ * {@code PathGenerator} can follow one of these directly, with {@code new PathGenerator(compactPath, lookaheadRadius)}.
+ *
+ * <b> UNITS ARE IN INCHES. </b>
+ *
+ * @since 2026-10-19
+ */
+public class CompactPath {
+    public static final int X = 0;
+    public static final int Y = 1;
+    public static final int VELOCITY = 2;
+    public static final int ARC_LENGTH = 3;
+    public static final int COLUMNS = 4;
+    private static final int STEPS = 65535;
+
+    // Unsigned 16 bit values. A value is offset + data * step.
+    public final char[][] data;
+    public final double[] offset;
+    public final double[] step;
+    public final int length;
+    public final double pathMaxVel;
+    public final double accel;
+
+    /**
+     * Constructor.
+     *
+     * @param route The path, as (x, y, ...) rows.
+     * @param segV The target velocity at each point.
+     * @param pathMaxVel The max path velocity it was generated with.
+     * @param accel The acceleration it was generated with.
+     */
+    public CompactPath(double[][] route, double[] segV, double pathMaxVel, double accel) {
+        this.length = route.length;
+        this.pathMaxVel = pathMaxVel;
+        this.accel = accel;
+
+        double[][] columns = new double[COLUMNS][this.length];
+        for(int i = 0; i < this.length; ++i) {
+            columns[X][i] = route[i][0];
+            columns[Y][i] = route[i][1];
+            columns[VELOCITY][i] = segV[i];
+            if(i > 0) {
+                columns[ARC_LENGTH][i] = columns[ARC_LENGTH][i - 1] + PathGenerator.Magnitude(route[i][0], route[i][1], route[i - 1][0], route[i - 1][1]);
+            }
+        }
+
+        this.data = new char[COLUMNS][this.length];
+        this.offset = new double[COLUMNS];
+        this.step = new double[COLUMNS];
+        for(int c = 0; c < COLUMNS; ++c) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for(int i = 0; i < this.length; ++i) {
+                min = Math.min(min, columns[c][i]);
+                max = Math.max(max, columns[c][i]);
+            }
+            this.offset[c] = min;
+            this.step[c] = max > min ? (max - min) / STEPS : 1.0;
+            for(int i = 0; i < this.length; ++i) {
+                this.data[c][i] = (char) Math.round((columns[c][i] - min) / this.step[c]);
+            }
+        }
+    }
+
+    private CompactPath(char[][] data, double[] offset, double[] step, double pathMaxVel, double accel) {
+        this.data = data;
+        this.offset = offset;
+        this.step = step;
+        this.length = data[X].length;
+        this.pathMaxVel = pathMaxVel;
+        this.accel = accel;
+    }
+
+    /**
+     * Packs up the path and velocities a {@code PathGenerator} already calculated.
+     *
+     * @param generator The generator.
+     *
+     * @return The compact path.
+     */
+    public static CompactPath encode(PathGenerator generator) {
+        return new CompactPath(generator.path, generator.segV, generator.pathMaxVel, generator.accel);
+    }
+
+    public double x(int i) {
+        return this.offset[X] + this.data[X][i] * this.step[X];
+    }
+
+    public double y(int i) {
+        return this.offset[Y] + this.data[Y][i] * this.step[Y];
+    }
+
+    public double velocity(int i) {
+        return this.offset[VELOCITY] + this.data[VELOCITY][i] * this.step[VELOCITY];
+    }
+
+    public double arcLength(int i) {
+        return this.offset[ARC_LENGTH] + this.data[ARC_LENGTH][i] * this.step[ARC_LENGTH];
+    }
+
+    /**
+     * Writes the path out, exactly as it is in memory: the point count, max velocity, acceleration,
+     * each column's offset and step, then the columns one after another.
+     *
+     * @param out Where to write it.
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(this.length);
+        out.writeDouble(this.pathMaxVel);
+        out.writeDouble(this.accel);
+        for(int c = 0; c < COLUMNS; ++c) {
+            out.writeDouble(this.offset[c]);
+            out.writeDouble(this.step[c]);
+        }
+        for(int c = 0; c < COLUMNS; ++c) {
+            for(int i = 0; i < this.length; ++i) {
+                out.writeChar(this.data[c][i]);
+            }
+        }
+    }
+
+    /**
+     * Reads a path written by {@code write}.
+     *
+     * @param in Where to read it from.
+     *
+     * @return The path.
+     */
+    public static CompactPath read(DataInput in) throws IOException {
+        int length = in.readInt();
+        if(length < 0) {
+            throw new IOException("Bad point count: " + length);
+        }
+        double pathMaxVel = in.readDouble();
+        double accel = in.readDouble();
+        double[] offset = new double[COLUMNS];
+        double[] step = new double[COLUMNS];
+        for(int c = 0; c < COLUMNS; ++c) {
+            offset[c] = in.readDouble();
+            step[c] = in.readDouble();
+        }
+        char[][] data = new char[COLUMNS][length];
+        for(int c = 0; c < COLUMNS; ++c) {
+            for(int i = 0; i < length; ++i) {
+                data[c][i] = in.readChar();
+            }
+        }
+
+        return new CompactPath(data, offset, step, pathMaxVel, accel);
+    }
+
+    /**
+     * @return How many bytes {@code write} writes.
+     */
+    public long serializedBytes() {
+        return 4L + 2 * 8L + COLUMNS * 2 * 8L + COLUMNS * 2L * this.length;
+    }
+
+    /**
+     * The most any value in a column can be off by from rounding.
+     *
+     * @param column {@code X}, {@code Y}, {@code VELOCITY} or {@code ARC_LENGTH}.
+     *
+     * @return The error bound, in inches (or in/s for velocity).
+     */
+    public double maxError(int column) {
+        return 0.5 * this.step[column];
+    }
+
+    /**
+     * @return Roughly how many bytes this takes up on the heap.
+     */
+    public long bytes() {
+        return compactBytes(this.length);
+    }
+
+    /**
+     * Roughly how many bytes a compact path with this many points takes up on the heap.
+     *
+     * @param points How many points.
+     *
+     * @return The size, in bytes.
+     */
+    public static long compactBytes(int points) {
+        // Object header and fields, the column arrays, and the offset and step arrays.
+        return 48L + arrayBytes(COLUMNS, 4) + COLUMNS * arrayBytes(points, 2) + 2 * arrayBytes(COLUMNS, 8);
+    }
+
+    /**
+     * Roughly how many bytes the same path takes as a {@code double[][]} with a {@code segV} array.
+     *
+     * @param points How many points.
+     * @param columns How many doubles in each row. {@code interpolateEven} makes 4.
+     *
+     * @return The size, in bytes.
+     */
+    public static long uncompressedBytes(int points, int columns) {
+        return arrayBytes(points, 4) + points * arrayBytes(columns, 8) + arrayBytes(points, 8);
+    }
+
+    /**
+     * How much smaller this is than the {@code double[][]} it came from, and how accurate it is, for printing.
+     * The per point cost and the fixed cost (headers, offsets and steps) are listed separately: per point it's always
+     * about 8x smaller, but on a short path the fixed part is a big share of the total, so the total ratio is less.
+     *
+     * @return The report.
+     */
+    public String memoryReport() {
+        long uncompressed = uncompressedBytes(this.length, 4);
+        long compact = bytes();
+        // What one more point costs each way. Array sizes round up to 8 bytes, so average over 8 points.
+        double uncompressedPerPoint = (uncompressedBytes(this.length + 8, 4) - uncompressed) / 8.0;
+        double compactPerPoint = (compactBytes(this.length + 8) - compact) / 8.0;
+        int points = 1;
+        while(uncompressedBytes(points, 4) < 4 * compactBytes(points)) {
+            points++;
+        }
+
+        return this.length + " points: " + uncompressed + " bytes as double[][] + segV, " + compact + " bytes compact, "
+            + String.format("%.1f", (double) uncompressed / compact) + "x smaller in total.\n"
+            + "Per point: " + uncompressedPerPoint + " vs " + compactPerPoint + " bytes, " + String.format("%.1f", uncompressedPerPoint / compactPerPoint)
+            + "x smaller. Fixed: " + uncompressedBytes(0, 4) + " vs " + compactBytes(0)
+            + " bytes. The total is 4x smaller or better from " + points + " points on.\n"
+            + "Max error: x " + maxError(X) + " in, y " + maxError(Y) + " in, velocity " + maxError(VELOCITY) + " in/s, arc length " + maxError(ARC_LENGTH) + " in";
+    }
+
+    /**
+     * Prints the memory report for the test path from {@code Main} (6 inch spacing) and for something closer to a real
+     * autonomous path, most of the way across the field with a point every inch.
+     */
+    public static void main(String[] args) {
+        double[][] start = {{0.0, 0.0}, {1.0, 1.0}, {0.0, 0.0}};
+        double[][][] ends = {
+            {{100.0, 100.0}, {0.0, 0.0}, {0.0, 0.0}},
+            {{400.0, 120.0}, {0.0, 0.0}, {0.0, 0.0}},
+        };
+        double[] spacings = {6.0, 1.0};
+        for(int i = 0; i < ends.length; ++i) {
+            double[][] points = new Spline(start, ends[i]).sampleEven(spacings[i], 0.000001);
+            CompactPath compact = encode(new PathGenerator(points, 10.0, 2.0, 12.0));
+            System.out.println(compact.memoryReport());
+            System.out.println();
+        }
+    }
+
+    /**
+     * Array size with a 16 byte header, rounded up to 8 bytes like HotSpot does.
+     */
+    private static long arrayBytes(int length, int elementSize) {
+        return (16L + (long) length * elementSize + 7L) / 8L * 8L;
+    }
+}
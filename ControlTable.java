@@ -0,0 +1,177 @@
+import java.lang.Math;
+
+/**
+ * <h1> ControlTable </h1>
+ *
+ * Pure pursuit, worked out ahead of time. Everything {@code PathGenerator} figures out each tick (the circle
+ * intersection for the lookahead point, the point-to-line curvature and the {@code segV} lookup) only depends on how
+ * far along the path the robot is, as long as the robot's actually on the path. So this walks the path in bins of
+ * {@code resolution} inches and, for each one, pretends the robot is sitting right on the path facing along it and
+ * stores what pure pursuit would do there: the lookahead target, the curvature of the arc to it and the target velocity.
+ *
+ * The robot's never exactly on the path, so each bin also gets two gains for correcting that. If the robot is e inches
+ * to the left of the bin's point and turned psi radians to the left of the path, the target moves f * psi + e to the
+ * right from the robot's point of view (f is how far ahead of the bin the target is, d is how far away it is), so the
+ * curvature pure pursuit would give changes by about -(2 / d^2) * e - (2f / d^2) * psi. That's exact to first order,
+ * and close enough at the 45 degree start heading error in {@code Main}. See {@code ControlTableFollower}.
+ *
+ * Curvature is positive for left turns, like {@code ReferencePath}, which is the opposite of
+ * {@code PathGenerator.lookaheadCurvature}.
+ *
+ * <b> UNITS ARE IN INCHES. </b>
+ *
+ * @since 2026-10-19
+ */
+public final class ControlTable {
+    public final double resolution;
+    public final double lookaheadRadius;
+    public final int length;
+
+    // The point on the path at the start of each bin, and the path's direction there (heading is in radians).
+    public final double[] x;
+    public final double[] y;
+    public final double[] heading;
+    public final double[] cos;
+    public final double[] sin;
+    // Where the lookahead circle around that point hits the path further on.
+    public final double[] targetX;
+    public final double[] targetY;
+    // Pure pursuit's curvature from that point, and how it changes with lateral and heading error.
+    public final double[] curvature;
+    public final double[] lateralGain;
+    public final double[] headingGain;
+    // The target velocity of the path point closest to the bin.
+    public final double[] velocity;
+
+    /**
+     * Builds the table off a generator's path, target velocities and lookahead radius. Works with compact paths too.
+     *
+     * @param generator The generator, which already has its velocities worked out.
+     * @param resolution How long each bin is, in inches.
+     */
+    public ControlTable(PathGenerator generator, double resolution) {
+        this.resolution = resolution;
+        this.lookaheadRadius = generator.lookaheadRadius;
+        int points = generator.pointCount();
+        double[] px = new double[points];
+        double[] py = new double[points];
+        // Arc length at each point.
+        double[] s = new double[points];
+        for(int i = 0; i < points; ++i) {
+            px[i] = generator.pointX(i);
+            py[i] = generator.pointY(i);
+            if(i > 0) {
+                s[i] = s[i - 1] + PathGenerator.Magnitude(px[i - 1], py[i - 1], px[i], py[i]);
+            }
+        }
+
+        this.length = (int) Math.floor(s[points - 1] / resolution) + 1;
+        this.x = new double[this.length];
+        this.y = new double[this.length];
+        this.heading = new double[this.length];
+        this.cos = new double[this.length];
+        this.sin = new double[this.length];
+        this.targetX = new double[this.length];
+        this.targetY = new double[this.length];
+        this.curvature = new double[this.length];
+        this.lateralGain = new double[this.length];
+        this.headingGain = new double[this.length];
+        this.velocity = new double[this.length];
+
+        int segment = 0;
+        int closest = 0;
+        int targetSegment = 0;
+        for(int b = 0; b < this.length; ++b) {
+            double distance = b * resolution;
+            while(segment < points - 2 && s[segment + 1] <= distance) {
+                segment++;
+            }
+            double segmentLength = s[segment + 1] - s[segment];
+            double t = segmentLength > 0.0 ? (distance - s[segment]) / segmentLength : 0.0;
+            double dx = px[segment + 1] - px[segment];
+            double dy = py[segment + 1] - py[segment];
+            this.x[b] = px[segment] + t * dx;
+            this.y[b] = py[segment] + t * dy;
+            this.cos[b] = segmentLength > 0.0 ? dx / segmentLength : 1.0;
+            this.sin[b] = segmentLength > 0.0 ? dy / segmentLength : 0.0;
+            this.heading[b] = Math.atan2(this.sin[b], this.cos[b]);
+
+            // Same as PathGenerator.closestPoint: only goes forward and never lands on the endpoint.
+            while(closest < points - 2 && PathGenerator.Magnitude(px[closest + 1], py[closest + 1], this.x[b], this.y[b]) <= PathGenerator.Magnitude(px[closest], py[closest], this.x[b], this.y[b])) {
+                closest++;
+            }
+            this.velocity[b] = generator.targetVelocity(closest);
+
+            if(targetSegment < segment) {
+                targetSegment = segment;
+            }
+            targetSegment = findTarget(px, py, targetSegment, segment, t, b);
+
+            // The target in the bin's frame: f ahead, l to the left.
+            double fx = this.targetX[b] - this.x[b];
+            double fy = this.targetY[b] - this.y[b];
+            double f = this.cos[b] * fx + this.sin[b] * fy;
+            double l = this.cos[b] * fy - this.sin[b] * fx;
+            double squared = fx * fx + fy * fy;
+            if(squared > 0.0) {
+                this.curvature[b] = 2.0 * l / squared;
+                this.lateralGain[b] = 2.0 / squared;
+                this.headingGain[b] = 2.0 * f / squared;
+            }
+        }
+    }
+
+    /**
+     * Finds where the lookahead circle around bin b's point crosses the path ahead of it, and puts it in
+     * {@code targetX} and {@code targetY}. If the circle doesn't cross the path again, the target is the last point,
+     * which is what pure pursuit ends up doing as it shrinks the lookahead radius at the end of the path.
+     *
+     * @return The segment the target is on, to start searching from for the next bin.
+     */
+    private int findTarget(double[] px, double[] py, int from, int segment, double t, int b) {
+        double r = this.lookaheadRadius;
+        for(int i = from; i < px.length - 1; ++i) {
+            double dx = px[i + 1] - px[i];
+            double dy = py[i + 1] - py[i];
+            double fx = px[i] - this.x[b];
+            double fy = py[i] - this.y[b];
+            double a = dx * dx + dy * dy;
+            double c = fx * fx + fy * fy - r * r;
+            double half = dx * fx + dy * fy;
+            double discriminant = half * half - a * c;
+            if(a == 0.0 || discriminant < 0.0) {
+                continue;
+            }
+            // The far intersection is the one in front of the point.
+            double u = (-half + Math.sqrt(discriminant)) / a;
+            if(u >= 0.0 && u <= 1.0 && (i > segment || u > t)) {
+                this.targetX[b] = px[i] + u * dx;
+                this.targetY[b] = py[i] + u * dy;
+
+                return i;
+            }
+        }
+        this.targetX[b] = px[px.length - 1];
+        this.targetY[b] = py[py.length - 1];
+
+        return px.length - 2;
+    }
+
+    /**
+     * Moves to the bin the robot's at. Only ever goes forward, so it's a step or two at most each tick.
+     *
+     * @param bin The bin the robot was at last time.
+     * @param x The robot's x.
+     * @param y The robot's y.
+     *
+     * @return The bin whose point is closest to the robot, measured along the path.
+     */
+    public int advance(int bin, double x, double y) {
+        double half = 0.5 * this.resolution;
+        while(bin < this.length - 1 && this.cos[bin] * (x - this.x[bin]) + this.sin[bin] * (y - this.y[bin]) > half) {
+            bin++;
+        }
+
+        return bin;
+    }
+}
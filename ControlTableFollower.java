@@ -0,0 +1,61 @@
+import java.lang.Math;
+
+/**
+ * <h1> ControlTableFollower </h1>
+ *
+ * Pure pursuit off a {@code ControlTable}. Each tick it finds the bin, works out how far off the path the robot is
+ * and which way it's facing compared to the path, and corrects the bin's curvature with the bin's gains. That's a
+ * couple of multiply-adds instead of a search for the closest point and a circle intersection, so it's fine to run at
+ * a few kilohertz.
+ *
+ * <b> UNITS ARE IN INCHES. </b>
+ *
+ * @since 2026-10-19
+ */
+public final class ControlTableFollower implements PathFollower {
+    private static final double TWO_PI = 2.0 * Math.PI;
+
+    public final ControlTable table;
+    public final double trackLength;
+
+    private int bin;
+
+    /**
+     * Constructor.
+     *
+     * @param table The table.
+     * @param trackLength The distance between the left and right wheels.
+     */
+    public ControlTableFollower(ControlTable table, double trackLength) {
+        this.table = table;
+        this.trackLength = trackLength;
+    }
+
+    @Override
+    public void command(double x, double y, double angle, double[] wheels) {
+        ControlTable table = this.table;
+        int b = table.advance(this.bin, x, y);
+        this.bin = b;
+
+        // How far left of the path the robot is, and how far it's turned left of the path's direction.
+        double lateral = table.cos[b] * (y - table.y[b]) - table.sin[b] * (x - table.x[b]);
+        // Robot angles only get kept between -360 and 360 degrees, so this can take a couple of turns.
+        double heading = Math.toRadians(angle) - table.heading[b];
+        while(heading > Math.PI) {
+            heading -= TWO_PI;
+        }
+        while(heading < -Math.PI) {
+            heading += TWO_PI;
+        }
+
+        double c = table.curvature[b] - table.lateralGain[b] * lateral - table.headingGain[b] * heading;
+        double v = table.velocity[b];
+        wheels[LEFT] = v * (2 - c * this.trackLength) / 2;
+        wheels[RIGHT] = v * (2 + c * this.trackLength) / 2;
+    }
+
+    @Override
+    public void reset() {
+        this.bin = 0;
+    }
+}
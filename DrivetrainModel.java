@@ -0,0 +1,209 @@
+import java.lang.Math;
+
+/**
+ * <h1> DrivetrainModel </h1>
+ *
+ * A dynamic model of a tank drivetrain, for when we don't want to assume the velocity PID is perfect.
+ * Each side has DC motors (voltage in, current and torque out), the chassis has mass and a moment of inertia,
+ * and the wheels can only push as hard as friction lets them before they slip.
+ *
+ * The motors' back-EMF acts like a really stiff damper, which is what blows up a normal Euler integrator at 20 ms.
+ * So the velocity update is semi-implicit: back-EMF is evaluated at the <i>new</i> wheel velocities (a 2*2 linear solve),
+ * then the pose is moved along the arc using those new velocities. That stays stable at the RoboRIO period.
+ *
+ * Physics is done in SI units on the inside. Robot position and velocity setpoints are still <b> IN INCHES. </b>
+ *
+ * @since 2026-10-19
+ */
+public class DrivetrainModel {
+    public static final double INCHES_PER_METER = 39.3701;
+    public static final double GRAVITY = 9.81;
+    public static final double NOMINAL_VOLTAGE = 12.0;
+
+    // Motor constants
+    public double resistance;
+    public double torqueConstant;
+    // rad/s per volt
+    public double speedConstant;
+
+    public int motorsPerSide;
+    public double gearRatio;
+    // Meters
+    public double wheelRadius;
+    public double trackWidth;
+    // kg and kg*m^2
+    public double mass;
+    public double momentOfInertia;
+    // Coefficient of friction between the wheels and the carpet
+    public double wheelFriction;
+    // Volts per (in/s) of velocity error, on top of the feedforward
+    public double velocityP;
+
+    // Wheel surface velocities, in inches per second
+    public double leftVelocity;
+    public double rightVelocity;
+    public double leftVoltage;
+    public double rightVoltage;
+    // Amps, per motor
+    public double leftCurrent;
+    public double rightCurrent;
+    public boolean leftSlipping;
+    public boolean rightSlipping;
+
+    /**
+     * Constructor.
+     *
+     * @param stallTorque Motor stall torque, in N*m.
+     * @param stallCurrent Motor stall current, in amps.
+     * @param freeSpeed Motor free speed, in RPM.
+     * @param freeCurrent Motor free current, in amps.
+     * @param motorsPerSide How many motors are in each gearbox.
+     * @param gearRatio Motor rotations per wheel rotation.
+     * @param wheelRadius Wheel radius, in inches.
+     * @param trackLength Width of the drivetrain, in inches. Same as {@code Robot.trackLength}.
+     * @param mass Robot mass, in kg.
+     * @param momentOfInertia Robot moment of inertia about its center, in kg*m^2.
+     * @param wheelFriction Coefficient of friction of the wheels.
+     */
+    public DrivetrainModel(double stallTorque, double stallCurrent, double freeSpeed, double freeCurrent, int motorsPerSide, double gearRatio,
+            double wheelRadius, double trackLength, double mass, double momentOfInertia, double wheelFriction) {
+        this.resistance = NOMINAL_VOLTAGE / stallCurrent;
+        this.torqueConstant = stallTorque / stallCurrent;
+        this.speedConstant = Math.toRadians(freeSpeed * 6.0) / (NOMINAL_VOLTAGE - freeCurrent * this.resistance);
+        this.motorsPerSide = motorsPerSide;
+        this.gearRatio = gearRatio;
+        this.wheelRadius = wheelRadius / INCHES_PER_METER;
+        this.trackWidth = trackLength / INCHES_PER_METER;
+        this.mass = mass;
+        this.momentOfInertia = momentOfInertia;
+        this.wheelFriction = wheelFriction;
+        this.velocityP = 0.05;
+    }
+
+    /**
+     * A 2-CIM-per-side kitbot-ish drivetrain with 6 inch wheels, if you don't know your numbers.
+     *
+     * @param trackLength Width of the drivetrain, in inches.
+     *
+     * @return The model.
+     */
+    public static DrivetrainModel kitbot(double trackLength) {
+        return new DrivetrainModel(2.42, 133.0, 5330.0, 2.7, 2, 10.71, 3.0, trackLength, 50.0, 5.0, 1.1);
+    }
+
+    /**
+     * Top speed of a side at 12 volts, in inches per second.
+     */
+    public double freeSpeed() {
+        return NOMINAL_VOLTAGE * this.speedConstant / this.gearRatio * this.wheelRadius * INCHES_PER_METER;
+    }
+
+    /**
+     * Drives the robot for one {@code robot.timeInterval} with a velocity controller (feedforward plus P) on each side.
+     * This is the dynamic version of {@code Robot.tankDrive}.
+     *
+     * @param robot The robot to move.
+     * @param lVelocity Left wheel velocity setpoint, in in/s.
+     * @param rVelocity Right wheel velocity setpoint, in in/s.
+     */
+    public void tankDrive(Robot robot, double lVelocity, double rVelocity) {
+        double free = freeSpeed();
+        double lVoltage = NOMINAL_VOLTAGE * lVelocity / free + this.velocityP * (lVelocity - this.leftVelocity);
+        double rVoltage = NOMINAL_VOLTAGE * rVelocity / free + this.velocityP * (rVelocity - this.rightVelocity);
+        drive(robot, lVoltage, rVoltage);
+    }
+
+    /**
+     * Applies voltages to each side for one {@code robot.timeInterval}.
+     *
+     * @param robot The robot to move.
+     * @param lVoltage Left side voltage. Gets clamped to +-12.
+     * @param rVoltage Right side voltage. Gets clamped to +-12.
+     */
+    public void drive(Robot robot, double lVoltage, double rVoltage) {
+        SimMetrics.TICKS.increment();
+        double dt = robot.timeInterval;
+        this.leftVoltage = Math.max(-NOMINAL_VOLTAGE, Math.min(NOMINAL_VOLTAGE, lVoltage));
+        this.rightVoltage = Math.max(-NOMINAL_VOLTAGE, Math.min(NOMINAL_VOLTAGE, rVoltage));
+
+        // Force from one side is a * voltage - b * velocity
+        double a = this.motorsPerSide * this.gearRatio * this.torqueConstant / (this.resistance * this.wheelRadius);
+        double b = a * this.gearRatio / (this.wheelRadius * this.speedConstant);
+
+        // How a force on one side accelerates each side: through the mass (same) and the inertia (opposite)
+        double linear = 1.0 / this.mass;
+        double angular = 0.25 * this.trackWidth * this.trackWidth / this.momentOfInertia;
+        double same = linear + angular;
+        double opposite = linear - angular;
+
+        double vL = this.leftVelocity / INCHES_PER_METER;
+        double vR = this.rightVelocity / INCHES_PER_METER;
+
+        // (I + dt * b * M^-1) v' = v + dt * a * M^-1 * voltage
+        double p = 1.0 + dt * b * same;
+        double q = dt * b * opposite;
+        double rhsL = vL + dt * a * (same * this.leftVoltage + opposite * this.rightVoltage);
+        double rhsR = vR + dt * a * (opposite * this.leftVoltage + same * this.rightVoltage);
+        double det = p * p - q * q;
+        double newL = (p * rhsL - q * rhsR) / det;
+        double newR = (p * rhsR - q * rhsL) / det;
+
+        // Wheels can't push harder than friction. If they try to, they slip and we use the friction limit instead.
+        double maxForce = 0.5 * this.wheelFriction * this.mass * GRAVITY;
+        double forceL = a * this.leftVoltage - b * newL;
+        double forceR = a * this.rightVoltage - b * newR;
+        this.leftSlipping = Math.abs(forceL) > maxForce;
+        this.rightSlipping = Math.abs(forceR) > maxForce;
+        if(this.leftSlipping || this.rightSlipping) {
+            forceL = Math.max(-maxForce, Math.min(maxForce, forceL));
+            forceR = Math.max(-maxForce, Math.min(maxForce, forceR));
+            newL = vL + dt * (same * forceL + opposite * forceR);
+            newR = vR + dt * (opposite * forceL + same * forceR);
+        }
+
+        double motorSpeed = this.gearRatio / this.wheelRadius;
+        this.leftCurrent = (this.leftVoltage - motorSpeed * newL / this.speedConstant) / this.resistance;
+        this.rightCurrent = (this.rightVoltage - motorSpeed * newR / this.speedConstant) / this.resistance;
+        this.leftVelocity = newL * INCHES_PER_METER;
+        this.rightVelocity = newR * INCHES_PER_METER;
+
+        move(robot, this.leftVelocity, this.rightVelocity, dt);
+    }
+
+    /**
+     * Moves the robot along the arc it traces with constant wheel velocities.
+     *
+     * @param robot The robot.
+     * @param lVelocity Left wheel velocity, in in/s.
+     * @param rVelocity Right wheel velocity, in in/s.
+     * @param dt Time, in seconds.
+     */
+    public static void move(Robot robot, double lVelocity, double rVelocity, double dt) {
+        double v = 0.5 * (lVelocity + rVelocity);
+        double omega = (rVelocity - lVelocity) / robot.trackLength;
+        double heading = Math.toRadians(robot.robotAngle);
+        if(Math.abs(omega) < 1e-9) {
+            robot.robotPos[0][0] += v * Math.cos(heading) * dt;
+            robot.robotPos[0][1] += v * Math.sin(heading) * dt;
+        } else {
+            double newHeading = heading + omega * dt;
+            robot.robotPos[0][0] += v / omega * (Math.sin(newHeading) - Math.sin(heading));
+            robot.robotPos[0][1] -= v / omega * (Math.cos(newHeading) - Math.cos(heading));
+        }
+        robot.updateAngle(Math.toDegrees(omega * dt));
+    }
+
+    /**
+     * Stops both sides, like the robot was just turned on.
+     */
+    public void reset() {
+        this.leftVelocity = 0.0;
+        this.rightVelocity = 0.0;
+        this.leftVoltage = 0.0;
+        this.rightVoltage = 0.0;
+        this.leftCurrent = 0.0;
+        this.rightCurrent = 0.0;
+        this.leftSlipping = false;
+        this.rightSlipping = false;
+    }
+}
@@ -0,0 +1,76 @@
+import java.lang.Math;
+
+/**
+ * <h1> FeedforwardFollower </h1>
+ *
+ * The simplest tracking controller: drive each side at the profile's velocity for that side (kV) plus a bit for
+ * the acceleration (kA), then correct with a P term. The error the P term looks at is how far off the path a point
+ * {@code previewDistance} in front of the robot is, so a heading error counts before it turns into a position error.
+ *
+ * With kV = 1 and kA = 0 the output is a wheel velocity, which is what {@code Robot.tankDrive} wants. Real kV and kA
+ * numbers (volts per in/s and per in/s^2) give voltages for {@code DrivetrainModel.drive}; kP has to be scaled to match.
+ *
+ * <b> UNITS ARE IN INCHES. </b>
+ *
+ * @since 2026-10-19
+ */
+public final class FeedforwardFollower implements PathFollower {
+    public final ReferencePath path;
+    public final double trackLength;
+    public double kV;
+    public double kA;
+    // Turn rate, in rad/s, per inch of preview error
+    public double kP;
+    public double previewDistance;
+
+    private int index;
+
+    /**
+     * Constructor.
+     *
+     * @param path The path to follow.
+     * @param trackLength The distance between the left and right wheels.
+     * @param kV Output per in/s of wheel velocity.
+     * @param kA Output per in/s^2 of wheel acceleration.
+     * @param kP Turn rate, in rad/s, per inch of error.
+     * @param previewDistance How far ahead of the robot the error is measured, in inches.
+     */
+    public FeedforwardFollower(ReferencePath path, double trackLength, double kV, double kA, double kP, double previewDistance) {
+        this.path = path;
+        this.trackLength = trackLength;
+        this.kV = kV;
+        this.kA = kA;
+        this.kP = kP;
+        this.previewDistance = previewDistance;
+    }
+
+    @Override
+    public void command(double x, double y, double angle, double[] wheels) {
+        this.index = this.path.advance(this.index, x, y);
+        int i = this.index;
+        double fraction = Math.max(0.0, Math.min(1.0, this.path.fraction(i, x, y)));
+        double velocity = ReferencePath.lerp(this.path.velocity, i, fraction);
+        double acceleration = this.path.acceleration[i];
+        double curvature = ReferencePath.lerp(this.path.curvature, i, fraction);
+
+        // Sideways error of the preview point, positive when it's left of the path.
+        double heading = Math.toRadians(angle);
+        double previewX = x + this.previewDistance * Math.cos(heading) - ReferencePath.lerp(this.path.x, i, fraction);
+        double previewY = y + this.previewDistance * Math.sin(heading) - ReferencePath.lerp(this.path.y, i, fraction);
+        double pathHeading = this.path.heading[i];
+        double error = Math.cos(pathHeading) * previewY - Math.sin(pathHeading) * previewX;
+
+        // Each side's share of the turn, from the curvature plus the correction.
+        double turn = 0.5 * this.trackLength * curvature;
+        double correction = 0.5 * this.trackLength * this.kP * error;
+        double left = 1.0 - turn;
+        double right = 1.0 + turn;
+        wheels[LEFT] = this.kV * (velocity * left + correction) + this.kA * acceleration * left;
+        wheels[RIGHT] = this.kV * (velocity * right - correction) + this.kA * acceleration * right;
+    }
+
+    @Override
+    public void reset() {
+        this.index = 0;
+    }
+}
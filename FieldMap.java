@@ -0,0 +1,340 @@
+import java.lang.Math;
+
+/**
+ * <h1> FieldMap </h1>
+ *
+ * The field, as a grid of cells that are either empty or have something in them (walls, field elements).
+ * Occupancy is packed 64 cells to a {@code long}. After adding obstacles, {@code build} works out how far every cell
+ * is from the nearest obstacle (an exact Euclidean distance transform), so checking whether the robot fits somewhere is one lookup.
+ *
+ * The robot is treated as a circle. Pick the radius so the circle covers the frame, e.g. half the diagonal of the bumpers.
+ * Paths get checked by sliding that circle along each segment: wherever the robot is, it can move ahead by its clearance
+ * without hitting anything, so long clear stretches only take a few lookups.
+ *
+ * Obstacles mark every cell they touch, even a little. Distances are measured between cell centers and made smaller by a
+ * whole cell diagonal (half for where the obstacle is inside its cell, half for where the point being checked is inside
+ * its own), so a check never says "clear" when a real obstacle is closer than that.
+ *
+ * Anything outside the grid counts as a wall. <b> UNITS ARE IN INCHES. </b>
+ *
+ * @since 2026-10-19
+ */
+public class FieldMap {
+    // An FRC field is 54 by 27 feet.
+    public static final double FIELD_LENGTH = 648.0;
+    public static final double FIELD_WIDTH = 324.0;
+    private static final double FAR = 1e20;
+
+    public final int columns;
+    public final int rows;
+    public final double cellSize;
+    // Field coordinates of the corner of cell (0, 0)
+    public final double originX;
+    public final double originY;
+    public final long[] occupied;
+    // Clearance at each cell center, in inches. Null until build is called.
+    public float[] clearance;
+
+    /**
+     * Constructor. Starts out empty.
+     *
+     * @param originX The x coordinate of the grid's corner.
+     * @param originY The y coordinate of the grid's corner.
+     * @param length How far the grid goes in x, in inches.
+     * @param width How far the grid goes in y, in inches.
+     * @param cellSize The size of each cell, in inches.
+     */
+    public FieldMap(double originX, double originY, double length, double width, double cellSize) {
+        this.originX = originX;
+        this.originY = originY;
+        this.cellSize = cellSize;
+        this.columns = (int) Math.ceil(length / cellSize);
+        this.rows = (int) Math.ceil(width / cellSize);
+        this.occupied = new long[(this.columns * this.rows + 63) >>> 6];
+    }
+
+    /**
+     * An empty FRC field, with the robot starting at (startX, startY) in field coordinates.
+     * The path's (0, 0) is wherever the robot starts, so the grid is shifted to match.
+     *
+     * @param startX Where the robot starts, in inches from the left wall.
+     * @param startY Where the robot starts, in inches from the bottom wall.
+     * @param cellSize The size of each cell, in inches.
+     *
+     * @return The map.
+     */
+    public static FieldMap frcField(double startX, double startY, double cellSize) {
+        return new FieldMap(-startX, -startY, FIELD_LENGTH, FIELD_WIDTH, cellSize);
+    }
+
+    /**
+     * Marks every cell that overlaps a rectangle, so nothing thinner than a cell gets lost.
+     *
+     * @param x1 One corner's x.
+     * @param y1 One corner's y.
+     * @param x2 The other corner's x.
+     * @param y2 The other corner's y.
+     */
+    public void fillRectangle(double x1, double y1, double x2, double y2) {
+        int colStart = Math.max(0, (int) Math.floor((Math.min(x1, x2) - this.originX) / this.cellSize));
+        int colEnd = Math.min(this.columns - 1, (int) Math.floor((Math.max(x1, x2) - this.originX) / this.cellSize));
+        int rowStart = Math.max(0, (int) Math.floor((Math.min(y1, y2) - this.originY) / this.cellSize));
+        int rowEnd = Math.min(this.rows - 1, (int) Math.floor((Math.max(y1, y2) - this.originY) / this.cellSize));
+        for(int row = rowStart; row <= rowEnd; ++row) {
+            for(int col = colStart; col <= colEnd; ++col) {
+                set(row * this.columns + col);
+            }
+        }
+        this.clearance = null;
+    }
+
+    /**
+     * Marks every cell that overlaps a circle.
+     *
+     * @param x The center's x.
+     * @param y The center's y.
+     * @param radius The radius.
+     */
+    public void fillCircle(double x, double y, double radius) {
+        int colStart = Math.max(0, (int) Math.floor((x - radius - this.originX) / this.cellSize));
+        int colEnd = Math.min(this.columns - 1, (int) Math.floor((x + radius - this.originX) / this.cellSize));
+        int rowStart = Math.max(0, (int) Math.floor((y - radius - this.originY) / this.cellSize));
+        int rowEnd = Math.min(this.rows - 1, (int) Math.floor((y + radius - this.originY) / this.cellSize));
+        for(int row = rowStart; row <= rowEnd; ++row) {
+            for(int col = colStart; col <= colEnd; ++col) {
+                // The closest point of the cell to the circle's center.
+                double left = this.originX + col * this.cellSize;
+                double bottom = this.originY + row * this.cellSize;
+                double cx = Math.max(left, Math.min(x, left + this.cellSize));
+                double cy = Math.max(bottom, Math.min(y, bottom + this.cellSize));
+                if(PathGenerator.Magnitude(cx, cy, x, y) <= radius) {
+                    set(row * this.columns + col);
+                }
+            }
+        }
+        this.clearance = null;
+    }
+
+    private void set(int index) {
+        this.occupied[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * @param x The x coordinate.
+     * @param y The y coordinate.
+     *
+     * @return If the cell that point is in has something in it. Outside the grid is always occupied.
+     */
+    public boolean isOccupied(double x, double y) {
+        int col = (int) Math.floor((x - this.originX) / this.cellSize);
+        int row = (int) Math.floor((y - this.originY) / this.cellSize);
+        if(col < 0 || row < 0 || col >= this.columns || row >= this.rows) {
+            return true;
+        }
+        int index = row * this.columns + col;
+
+        return (this.occupied[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Works out the clearance of every cell. Has to be called again after adding obstacles.
+     * It's the two pass squared distance transform from Felzenszwalb and Huttenlocher: columns first, then rows.
+     */
+    public void build() {
+        int cells = this.columns * this.rows;
+        double[] squared = new double[cells];
+        for(int i = 0; i < cells; ++i) {
+            squared[i] = (this.occupied[i >>> 6] & (1L << i)) != 0 ? 0.0 : FAR;
+        }
+
+        int longest = Math.max(this.columns, this.rows);
+        double[] f = new double[longest];
+        double[] d = new double[longest];
+        int[] v = new int[longest];
+        double[] z = new double[longest + 1];
+
+        for(int col = 0; col < this.columns; ++col) {
+            for(int row = 0; row < this.rows; ++row) {
+                f[row] = squared[row * this.columns + col];
+            }
+            transform(f, this.rows, d, v, z);
+            for(int row = 0; row < this.rows; ++row) {
+                squared[row * this.columns + col] = d[row];
+            }
+        }
+        for(int row = 0; row < this.rows; ++row) {
+            System.arraycopy(squared, row * this.columns, f, 0, this.columns);
+            transform(f, this.columns, d, v, z);
+            System.arraycopy(d, 0, squared, row * this.columns, this.columns);
+        }
+
+        // Be pessimistic by a whole cell diagonal: the obstacle can be anywhere inside its cell, and so can the point we're asked about.
+        double slack = Math.sqrt(2.0) * this.cellSize;
+        this.clearance = new float[cells];
+        for(int row = 0; row < this.rows; ++row) {
+            for(int col = 0; col < this.columns; ++col) {
+                int i = row * this.columns + col;
+                // The edge of the grid is a wall too.
+                double wall = Math.min(Math.min(col, this.columns - 1 - col), Math.min(row, this.rows - 1 - row)) + 0.5;
+                double distance = Math.min(Math.sqrt(squared[i]), wall) * this.cellSize;
+                this.clearance[i] = (float) Math.max(0.0, distance - slack);
+            }
+        }
+    }
+
+    /**
+     * One dimensional squared distance transform: d[q] = min over p of (q - p)^2 + f[p].
+     * The minimum of a bunch of parabolas, found by building their lower envelope.
+     */
+    private static void transform(double[] f, int n, double[] d, int[] v, double[] z) {
+        int k = 0;
+        v[0] = 0;
+        z[0] = -FAR;
+        z[1] = FAR;
+        for(int q = 1; q < n; ++q) {
+            double s = ((f[q] + q * q) - (f[v[k]] + v[k] * v[k])) / (2.0 * q - 2.0 * v[k]);
+            while(s <= z[k]) {
+                k--;
+                s = ((f[q] + q * q) - (f[v[k]] + v[k] * v[k])) / (2.0 * q - 2.0 * v[k]);
+            }
+            k++;
+            v[k] = q;
+            z[k] = s;
+            z[k + 1] = FAR;
+        }
+        k = 0;
+        for(int q = 0; q < n; ++q) {
+            while(z[k + 1] < q) {
+                k++;
+            }
+            d[q] = (q - v[k]) * (q - v[k]) + f[v[k]];
+        }
+    }
+
+    /**
+     * @param x The x coordinate.
+     * @param y The y coordinate.
+     *
+     * @return How far it is to the nearest obstacle, in inches. 0 outside the grid.
+     */
+    public double clearance(double x, double y) {
+        int col = (int) Math.floor((x - this.originX) / this.cellSize);
+        int row = (int) Math.floor((y - this.originY) / this.cellSize);
+        if(col < 0 || row < 0 || col >= this.columns || row >= this.rows) {
+            return 0.0;
+        }
+
+        return this.clearance[row * this.columns + col];
+    }
+
+    /**
+     * @param x The robot's x.
+     * @param y The robot's y.
+     * @param radius The robot's radius.
+     *
+     * @return If a robot there would hit something.
+     */
+    public boolean collides(double x, double y, double radius) {
+        return clearance(x, y) < radius;
+    }
+
+    /**
+     * Checks a robot where it is right now, for use during a simulation.
+     *
+     * @param robot The robot.
+     * @param radius The robot's radius.
+     *
+     * @return If it's hitting something.
+     */
+    public boolean collides(Robot robot, double radius) {
+        return collides(robot.robotPos[0][0], robot.robotPos[0][1], radius);
+    }
+
+    /**
+     * Sweeps the robot along a path, from point to point.
+     *
+     * @param path (x, y, ...) rows, like {@code interpolateEven} makes.
+     * @param radius The robot's radius.
+     *
+     * @return The index of the first point whose segment to the next point hits something, or -1 if the whole path is clear.
+     */
+    public int checkPath(double[][] path, double radius) {
+        for(int i = 0; i < path.length - 1; ++i) {
+            if(sweepCollides(path[i][0], path[i][1], path[i + 1][0], path[i + 1][1], radius)) {
+                return i;
+            }
+        }
+        if(path.length == 1 && collides(path[0][0], path[0][1], radius)) {
+            return 0;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Same as the other {@code checkPath}, but for whatever path a {@code PathGenerator} is following.
+     *
+     * @param generator The generator.
+     * @param radius The robot's radius.
+     *
+     * @return The index of the first point whose segment hits something, or -1.
+     */
+    public int checkPath(PathGenerator generator, double radius) {
+        int length = generator.pointCount();
+        for(int i = 0; i < length - 1; ++i) {
+            if(sweepCollides(generator.pointX(i), generator.pointY(i), generator.pointX(i + 1), generator.pointY(i + 1), radius)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Slides a circle from one point to another.
+     *
+     * The real distance to the nearest obstacle can't change faster than the robot moves, so from a point with f inches
+     * to spare it can always move f inches. Close to a wall that gets tiny, so when it's less than a quarter cell this
+     * looks a quarter cell ahead too: if the spare room at both ends adds up to at least the step, nothing in between
+     * can be closer either, and it jumps there. If it doesn't, it gives up and calls it a hit, so a path that only
+     * scrapes by can come back as a collision, but a collision never comes back clear.
+     *
+     * @return If it hits anything on the way.
+     */
+    public boolean sweepCollides(double x1, double y1, double x2, double y2, double radius) {
+        if(this.clearance == null) {
+            build();
+        }
+        double length = PathGenerator.Magnitude(x1, y1, x2, y2);
+        // Never step less than a quarter cell, or we'd crawl along right next to walls.
+        double minStep = 0.25 * this.cellSize;
+        double travelled = 0.0;
+        double free = clearance(x1, y1) - radius;
+        while(true) {
+            if(free < 0.0) {
+                return true;
+            }
+            if(travelled >= length) {
+                return false;
+            }
+            if(free >= minStep) {
+                travelled = Math.min(length, travelled + free);
+                free = freeAt(x1, y1, x2, y2, length, travelled, radius);
+            } else {
+                double step = Math.min(minStep, length - travelled);
+                double next = freeAt(x1, y1, x2, y2, length, travelled + step, radius);
+                if(next < 0.0 || free + next < step) {
+                    return true;
+                }
+                travelled += step;
+                free = next;
+            }
+        }
+    }
+
+    private double freeAt(double x1, double y1, double x2, double y2, double length, double travelled, double radius) {
+        double fraction = length > 0.0 ? Math.min(1.0, travelled / length) : 1.0;
+
+        return clearance(x1 + fraction * (x2 - x1), y1 + fraction * (y2 - y1)) - radius;
+    }
+}
@@ -0,0 +1,140 @@
+import java.util.SplittableRandom;
+
+/**
+ * <h1> FieldMapTest </h1>
+ *
+ * Checks {@code FieldMap.sweepCollides} against an exact answer on random maps: rectangles of every size (thinner than
+ * a cell too) and random segments, with the exact distance from each segment to each rectangle and to the edge of the grid.
+ * A sweep that says "clear" when the exact answer is a hit is a bug and fails the test. Saying "hit" when it's actually
+ * clear is allowed, since the grid's pessimistic, and just gets counted.
+ *
+ * Run it with {@code java -ea FieldMapTest [seed] [maps]}.
+ *
+ * <b> UNITS ARE IN INCHES. </b>
+ *
+ * @since 2026-10-19
+ */
+public class FieldMapTest {
+    public static final double SIZE = 200.0;
+
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 2019L;
+        int maps = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        SplittableRandom random = new SplittableRandom(seed);
+        int hits = 0;
+        int falseAlarms = 0;
+        int checks = 0;
+
+        for(int m = 0; m < maps; ++m) {
+            double cellSize = 0.5 + 3.5 * random.nextDouble();
+            double radius = 2.0 + 13.0 * random.nextDouble();
+            FieldMap map = new FieldMap(0.0, 0.0, SIZE, SIZE, cellSize);
+            // The grid can be a little bigger than asked for, so the walls are where the cells end.
+            double width = map.columns * cellSize;
+            double height = map.rows * cellSize;
+            int count = 1 + random.nextInt(3);
+            double[][] rectangles = new double[count][];
+            for(int r = 0; r < count; ++r) {
+                double x = 20.0 + 140.0 * random.nextDouble();
+                double y = 20.0 + 140.0 * random.nextDouble();
+                // Half of them thinner than a cell in one direction.
+                double w = random.nextBoolean() ? 0.05 + cellSize * random.nextDouble() : 0.05 + 40.0 * random.nextDouble();
+                double h = 0.05 + 40.0 * random.nextDouble();
+                rectangles[r] = random.nextBoolean() ? new double[] {x, y, x + w, y + h} : new double[] {x, y, x + h, y + w};
+                map.fillRectangle(rectangles[r][0], rectangles[r][1], rectangles[r][2], rectangles[r][3]);
+            }
+            map.build();
+
+            for(int s = 0; s < 20; ++s) {
+                double x1 = 5.0 + 190.0 * random.nextDouble();
+                double y1 = 5.0 + 190.0 * random.nextDouble();
+                double x2 = 5.0 + 190.0 * random.nextDouble();
+                double y2 = 5.0 + 190.0 * random.nextDouble();
+                double distance = Math.min(wallDistance(x1, y1, width, height), wallDistance(x2, y2, width, height));
+                for(double[] rectangle : rectangles) {
+                    distance = Math.min(distance, segmentToRectangle(x1, y1, x2, y2, rectangle));
+                }
+                boolean exact = distance < radius;
+                boolean swept = map.sweepCollides(x1, y1, x2, y2, radius);
+                checks++;
+                if(exact) {
+                    hits++;
+                    if(!swept) {
+                        throw new AssertionError("Missed a collision " + (radius - distance) + " in deep: map " + m + ", cell " + cellSize
+                            + ", radius " + radius + ", (" + x1 + ", " + y1 + ") to (" + x2 + ", " + y2 + ")");
+                    }
+                } else if(swept) {
+                    falseAlarms++;
+                }
+            }
+        }
+        System.out.println(checks + " sweeps, " + hits + " real collisions, none missed, " + falseAlarms + " false alarms");
+    }
+
+    /**
+     * How far a point is from the outside of the grid. Since the grid's a box, along a segment this is smallest at one of the ends.
+     */
+    private static double wallDistance(double x, double y, double width, double height) {
+        return Math.min(Math.min(x, width - x), Math.min(y, height - y));
+    }
+
+    /**
+     * The exact distance between a segment and a filled rectangle (x1, y1, x2, y2), 0 if they touch.
+     */
+    private static double segmentToRectangle(double x1, double y1, double x2, double y2, double[] r) {
+        if(crosses(x1, y1, x2, y2, r)) {
+            return 0.0;
+        }
+        double result = Math.min(pointToRectangle(x1, y1, r), pointToRectangle(x2, y2, r));
+        double[][] corners = {{r[0], r[1]}, {r[2], r[1]}, {r[2], r[3]}, {r[0], r[3]}};
+        for(double[] corner : corners) {
+            result = Math.min(result, pointToSegment(corner[0], corner[1], x1, y1, x2, y2));
+        }
+
+        return result;
+    }
+
+    /**
+     * Liang-Barsky clipping: does any part of the segment land inside the rectangle?
+     */
+    private static boolean crosses(double x1, double y1, double x2, double y2, double[] r) {
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+        double[] p = {-dx, dx, -dy, dy};
+        double[] q = {x1 - r[0], r[2] - x1, y1 - r[1], r[3] - y1};
+        double low = 0.0;
+        double high = 1.0;
+        for(int i = 0; i < 4; ++i) {
+            if(p[i] == 0.0) {
+                if(q[i] < 0.0) {
+                    return false;
+                }
+            } else {
+                double t = q[i] / p[i];
+                if(p[i] < 0.0) {
+                    low = Math.max(low, t);
+                } else {
+                    high = Math.min(high, t);
+                }
+            }
+        }
+
+        return low <= high;
+    }
+
+    private static double pointToRectangle(double x, double y, double[] r) {
+        double dx = Math.max(Math.max(r[0] - x, 0.0), x - r[2]);
+        double dy = Math.max(Math.max(r[1] - y, 0.0), y - r[3]);
+
+        return Math.hypot(dx, dy);
+    }
+
+    private static double pointToSegment(double x, double y, double x1, double y1, double x2, double y2) {
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+        double squared = dx * dx + dy * dy;
+        double t = squared > 0.0 ? Math.max(0.0, Math.min(1.0, ((x - x1) * dx + (y - y1) * dy) / squared)) : 0.0;
+
+        return Math.hypot(x - (x1 + t * dx), y - (y1 + t * dy));
+    }
+}
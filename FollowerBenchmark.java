@@ -0,0 +1,157 @@
+import java.lang.Math;
+
+/**
+ * <h1> FollowerBenchmark </h1>
+ *
+ * Runs every {@code PathFollower} on the same path and motion profile and compares them, two ways:
+ * <ul>
+ * <li> tracking: a normal simulation, scored with {@code TrackingMetrics} against the same path, </li>
+ * <li> speed: the poses from that run get fed back through {@code command} over and over, and we time it. </li>
+ * </ul>
+ *
+ * Pass a follower's name (pure-pursuit, control-table, ramsete or feedforward) to only run that one. That keeps the call to
+ * {@code command} monomorphic, so the timing is what the JIT would do in a real loop with just one follower in it.
+ *
+ * <b> UNITS ARE IN INCHES. </b>
+ *
+ * @since 2026-10-19
+ */
+public class FollowerBenchmark {
+    public static final String[] NAMES = {"pure-pursuit", "control-table", "ramsete", "feedforward"};
+
+    public double[][] route;
+    public double pathMaxVel;
+    public double accel;
+    public double lookaheadRadius;
+    public double trackLength;
+    public double timeInterval;
+    public double goalRadius;
+    public double maxTime;
+
+    /**
+     * Constructor, with the numbers from {@code Main}.
+     *
+     * @param route The path.
+     */
+    public FollowerBenchmark(double[][] route) {
+        this.route = route;
+        this.pathMaxVel = 10.0;
+        this.accel = 2.0;
+        this.lookaheadRadius = 12.0;
+        this.trackLength = 34.0;
+        this.timeInterval = 0.02;
+        this.goalRadius = 1.0;
+        this.maxTime = 60.0;
+    }
+
+    /**
+     * @param name One of {@code NAMES}.
+     *
+     * @return A new follower of that kind, on this path.
+     */
+    public PathFollower follower(String name) {
+        PathGenerator generator = new PathGenerator(this.route, this.pathMaxVel, this.accel, this.lookaheadRadius);
+        switch(name) {
+            case "pure-pursuit":
+                return new PurePursuitFollower(generator, this.trackLength);
+            case "control-table":
+                return new ControlTableFollower(new ControlTable(generator, 0.25), this.trackLength);
+            case "ramsete":
+                return new RamseteFollower(new ReferencePath(generator), this.trackLength);
+            case "feedforward":
+                return new FeedforwardFollower(new ReferencePath(generator), this.trackLength, 1.0, 0.0, 0.05, 12.0);
+            default:
+                throw new IllegalArgumentException("No follower called " + name + ".");
+        }
+    }
+
+    /**
+     * Simulates one run.
+     *
+     * @param follower The follower.
+     * @param metrics Gets the results. Should be reset.
+     * @param poses Gets the robot's (x, y, angle) every tick, three numbers per tick. Has to have room for {@code maxTime} worth of ticks.
+     *
+     * @return How many ticks it took.
+     */
+    public int run(PathFollower follower, TrackingMetrics metrics, double[] poses) {
+        // Only used to score the run, so every follower is measured against the same closest points.
+        PathGenerator scorer = new PathGenerator(this.route, this.pathMaxVel, this.accel, this.lookaheadRadius);
+        Robot robot = new Robot(new double[][] {{this.route[0][0], this.route[0][1]}}, this.timeInterval, this.trackLength);
+        double[] goal = this.route[this.route.length - 1];
+        double[] wheels = new double[2];
+        int ticks = 0;
+        follower.reset();
+
+        while(metrics.time() < this.maxTime) {
+            if(PathGenerator.Magnitude(goal[0], goal[1], robot.robotPos[0][0], robot.robotPos[0][1]) <= this.goalRadius) {
+                metrics.finish(true);
+                return ticks;
+            }
+            poses[3 * ticks] = robot.robotPos[0][0];
+            poses[3 * ticks + 1] = robot.robotPos[0][1];
+            poses[3 * ticks + 2] = robot.robotAngle;
+            follower.command(robot.robotPos[0][0], robot.robotPos[0][1], robot.robotAngle, wheels);
+
+            scorer.updatePos(robot.robotPos, robot.robotAngle);
+            scorer.closestPoint();
+            metrics.record(scorer, wheels[PathFollower.LEFT], wheels[PathFollower.RIGHT], this.timeInterval);
+            robot.tankDrive(wheels[PathFollower.LEFT], wheels[PathFollower.RIGHT]);
+            ticks++;
+        }
+        metrics.finish(false);
+
+        return ticks;
+    }
+
+    /**
+     * Feeds recorded poses through a follower, {@code passes} times over.
+     *
+     * @return Nanoseconds per {@code command} call.
+     */
+    public static double time(PathFollower follower, double[] poses, int ticks, int passes) {
+        double[] wheels = new double[2];
+        double sink = 0.0;
+        long start = System.nanoTime();
+        for(int pass = 0; pass < passes; ++pass) {
+            follower.reset();
+            for(int i = 0; i < ticks; ++i) {
+                follower.command(poses[3 * i], poses[3 * i + 1], poses[3 * i + 2], wheels);
+                sink += wheels[PathFollower.LEFT];
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        // Keeps the JIT from throwing the work away.
+        if(sink == Double.MIN_VALUE) {
+            System.out.println(sink);
+        }
+
+        return (double) elapsed / ((long) passes * ticks);
+    }
+
+    public static void main(String[] args) {
+        Spline spline = new Spline(new double[][] {
+            {0.0, 0.0},
+            {1.0, 1.0},
+            {0.0, 0.0},
+        }, new double[][] {
+            {100.0, 100.0},
+            {0.0, 0.0},
+            {0.0, 0.0},
+        });
+        FollowerBenchmark benchmark = new FollowerBenchmark(spline.sampleEven(6.0, 0.000001));
+        String[] names = args.length > 0 ? args : NAMES;
+        double[] poses = new double[3 * ((int) Math.ceil(benchmark.maxTime / benchmark.timeInterval) + 1)];
+
+        for(String name : names) {
+            PathFollower follower = benchmark.follower(name);
+            TrackingMetrics metrics = new TrackingMetrics(Double.POSITIVE_INFINITY);
+            int ticks = benchmark.run(follower, metrics, poses);
+            // Warm up first, then time it.
+            time(follower, poses, ticks, 200);
+            double nanos = time(follower, poses, ticks, 1000);
+            System.out.println(name + ": " + metrics.summary());
+            System.out.println(name + ": " + nanos + " ns per tick");
+        }
+    }
+}
@@ -29,8 +29,7 @@ class Main {
         //     // System.out.println("Waypoint " + k + " velocity: " + testGenerator.segV[k]);
         // }
 
-        // For better accuracy add a 0
-        double[][] testSplinePath = testLineSpline.interpolateEven(0.00000001, 6.0);
+        double[][] testSplinePath = testLineSpline.sampleEven(6.0, 0.000001);
         PathGenerator testGenerator = new PathGenerator(testSplinePath, 10.0, 2.0, 12.0);
 
 
@@ -90,10 +89,26 @@ class Main {
     }
 
     public static void followPath(PathGenerator generator, Robot robot) {
+        followPath(generator, robot, null);
+    }
+
+    /**
+     * Same as {@code followPath}, but adds every tick to some tracking metrics.
+     *
+     * @param generator The path generator.
+     * @param robot The robot.
+     * @param metrics Where to record how well it went. Can be null.
+     */
+    public static void followPath(PathGenerator generator, Robot robot, TrackingMetrics metrics) {
         double distanceFromTarget = Math.hypot(generator.path[generator.path.length - 1][0] - robot.robotPos[0][0], generator.path[generator.path.length - 1][1] - robot.robotPos[0][1]);
         while(Math.hypot(robot.robotPos[0][0], robot.robotPos[0][1]) < 142.0) {
             generator.updatePos(robot.robotPos, robot.robotAngle);
-            robot.tankDrive(generator.velocity(robot.trackLength, true), generator.velocity(robot.trackLength, false));
+            double left = generator.velocity(robot.trackLength, true);
+            double right = generator.velocity(robot.trackLength, false);
+            if(metrics != null) {
+                metrics.record(generator, left, right, robot.timeInterval);
+            }
+            robot.tankDrive(left, right);
             distanceFromTarget = Math.hypot(generator.path[generator.path.length - 1][0] - robot.robotPos[0][0], generator.path[generator.path.length - 1][1] - robot.robotPos[0][1]);
 
             System.out.println("Robot position and angle: (" + robot.robotPos[0][0] + ", " + robot.robotPos[0][1] + ") at " + robot.robotAngle);
@@ -104,5 +119,8 @@ class Main {
         if(distanceFromTarget <= 0.1) {
             System.out.println("Done!");
         }
+        if(metrics != null) {
+            metrics.finish(distanceFromTarget <= 0.1);
+        }
     }
 }
\ No newline at end of file
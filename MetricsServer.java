@@ -0,0 +1,107 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <h1> MetricsServer </h1>
+ *
+ * Serves {@code SimMetrics} at http://localhost:port/metrics in Prometheus text format, using the JDK's built in
+ * {@code HttpServer}. It only listens on the loopback address, and it only does anything when somebody asks, so
+ * leaving it on costs nothing.
+ *
+ * {@code main} starts one and runs the test path in a {@code PacedLoop} over and over, for soak testing:
+ * {@code java MetricsServer 9464} then {@code curl localhost:9464/metrics}.
+ *
+ * @since 2026-10-19
+ */
+public class MetricsServer implements AutoCloseable {
+    public static final int DEFAULT_PORT = 9464;
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final HttpServer server;
+
+    /**
+     * Starts serving right away.
+     *
+     * @param port The port. 0 picks a free one; see {@code port}.
+     *
+     * @throws IOException If the port's taken.
+     */
+    public MetricsServer(int port) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.server.createContext("/metrics", this::handle);
+        this.server.start();
+    }
+
+    /**
+     * @return The port it's listening on.
+     */
+    public int port() {
+        return this.server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if(!exchange.getRequestMethod().equals("GET") && !exchange.getRequestMethod().equals("HEAD")) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = SimMetrics.scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if(exchange.getRequestMethod().equals("HEAD")) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try(OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Stops serving.
+     */
+    @Override
+    public void close() {
+        this.server.stop(0);
+    }
+
+    /**
+     * Arguments: the port (default 9464), then how many times to run the path (default forever).
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        long runs = args.length > 1 ? Long.parseLong(args[1]) : Long.MAX_VALUE;
+
+        Spline spline = new Spline(new double[][] {
+            {0.0, 0.0},
+            {1.0, 1.0},
+            {0.0, 0.0},
+        }, new double[][] {
+            {100.0, 100.0},
+            {0.0, 0.0},
+            {0.0, 0.0},
+        });
+        double[][] route = spline.sampleEven(6.0, 0.000001);
+        PathGenerator generator = new PathGenerator(route, 10.0, 2.0, 12.0);
+        Robot robot = new Robot(new double[][] {{route[0][0], route[0][1]}}, 0.02, 34.0);
+        PacedLoop loop = new PacedLoop(robot.timeInterval, 3000);
+
+        try(MetricsServer server = new MetricsServer(port)) {
+            System.out.println("Serving metrics at http://localhost:" + server.port() + "/metrics");
+            for(long run = 0; run < runs; ++run) {
+                generator.reset(route, 10.0, 2.0, 12.0);
+                robot.reset(route[0][0], route[0][1], 0.0, robot.timeInterval, robot.trackLength);
+                loop.run(generator, robot);
+                System.out.println("Run " + (run + 1) + ": " + loop.summary());
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+import java.lang.Math;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * <h1> MonteCarloSimulation </h1>
+ *
+ * Runs the same path lots of times with a {@code NoiseModel}, in parallel, to see how much the results move around.
+ * One good run doesn't mean much once the wheels slip and the gyro drifts.
+ *
+ * Every run gets its own {@code SplittableRandom}, split off one made from the seed. The splitting is done up front,
+ * in order, before any runs start, so run i always gets the same numbers no matter which thread runs it or how many
+ * threads there are. Same seed, same results, down to the last bit.
+ *
+ * The follower drives off the noisy pose, but runs are scored with {@code TrackingMetrics} on the real one.
+ *
+ * <b> UNITS ARE IN INCHES. </b>
+ *
+ * @since 2026-10-19
+ */
+public class MonteCarloSimulation {
+    public double[][] route;
+    public NoiseModel noise;
+    // Makes a new follower for each run, since followers remember where they are on the path.
+    public Supplier<PathFollower> followers;
+    public double trackLength;
+    public double timeInterval;
+    public double goalRadius;
+    public double maxTime;
+
+    /**
+     * Constructor.
+     *
+     * @param route The path. Only used for the start and goal, and to score runs.
+     * @param noise The noise.
+     * @param followers Makes a new follower for each run.
+     * @param trackLength The distance between the left and right wheels.
+     */
+    public MonteCarloSimulation(double[][] route, NoiseModel noise, Supplier<PathFollower> followers, double trackLength) {
+        this.route = route;
+        this.noise = noise;
+        this.followers = followers;
+        this.trackLength = trackLength;
+        this.timeInterval = 0.02;
+        this.goalRadius = 1.0;
+        this.maxTime = 60.0;
+    }
+
+    /**
+     * Does a bunch of runs.
+     *
+     * @param seed The seed. The same seed always gives the same results.
+     * @param runs How many runs.
+     *
+     * @return Each run's results, in run order.
+     */
+    public TrackingMetrics.Summary[] run(long seed, int runs) {
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[runs];
+        for(int i = 0; i < runs; ++i) {
+            randoms[i] = root.split();
+        }
+        TrackingMetrics.Summary[] results = new TrackingMetrics.Summary[runs];
+        IntStream.range(0, runs).parallel().forEach(i -> results[i] = runOnce(randoms[i]));
+
+        return results;
+    }
+
+    /**
+     * One run.
+     *
+     * @param random This run's random numbers.
+     *
+     * @return How it went.
+     */
+    public TrackingMetrics.Summary runOnce(SplittableRandom random) {
+        NoiseModel.Run noisy = this.noise.start(random);
+        PathFollower follower = this.followers.get();
+        // Only used to score the run.
+        PathGenerator scorer = new PathGenerator(this.route, 1.0, 1.0, 1.0);
+        Robot robot = new Robot(new double[][] {{this.route[0][0], this.route[0][1]}}, this.timeInterval, this.trackLength);
+        TrackingMetrics metrics = new TrackingMetrics(Double.POSITIVE_INFINITY);
+        double[] goal = this.route[this.route.length - 1];
+        double[] pose = new double[3];
+        double[] wheels = new double[2];
+
+        boolean reachedGoal = false;
+        while(metrics.time() < this.maxTime) {
+            if(PathGenerator.Magnitude(goal[0], goal[1], robot.robotPos[0][0], robot.robotPos[0][1]) <= this.goalRadius) {
+                reachedGoal = true;
+                break;
+            }
+            noisy.sense(robot, pose);
+            follower.command(pose[0], pose[1], pose[2], wheels);
+
+            scorer.updatePos(robot.robotPos, robot.robotAngle);
+            scorer.closestPoint();
+            metrics.record(scorer, wheels[PathFollower.LEFT], wheels[PathFollower.RIGHT], this.timeInterval);
+            noisy.drive(robot, wheels[PathFollower.LEFT], wheels[PathFollower.RIGHT]);
+        }
+        metrics.finish(reachedGoal);
+
+        return metrics.summary();
+    }
+
+    /**
+     * Prints how many runs finished and the spread of the completion time and worst cross-track error.
+     *
+     * @param results The runs.
+     */
+    public static void report(TrackingMetrics.Summary[] results) {
+        int finished = 0;
+        double[] times = new double[results.length];
+        double[] errors = new double[results.length];
+        for(TrackingMetrics.Summary result : results) {
+            if(result.reachedGoal) {
+                times[finished] = result.completionTime;
+                errors[finished] = result.maxCrossTrack;
+                finished++;
+            }
+        }
+        System.out.println(finished + " of " + results.length + " runs finished");
+        if(finished == 0) {
+            return;
+        }
+        Arrays.sort(times, 0, finished);
+        Arrays.sort(errors, 0, finished);
+        System.out.println("Completion time p5/p50/p95: " + percentile(times, finished, 0.05) + "/" + percentile(times, finished, 0.5)
+            + "/" + percentile(times, finished, 0.95) + " s");
+        System.out.println("Max cross-track error p5/p50/p95: " + percentile(errors, finished, 0.05) + "/" + percentile(errors, finished, 0.5)
+            + "/" + percentile(errors, finished, 0.95) + " in");
+    }
+
+    private static double percentile(double[] sorted, int count, double fraction) {
+        return sorted[Math.min(count - 1, (int) (fraction * count))];
+    }
+
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 2019L;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        String name = args.length > 2 ? args[2] : "pure-pursuit";
+
+        Spline spline = new Spline(new double[][] {
+            {0.0, 0.0},
+            {1.0, 1.0},
+            {0.0, 0.0},
+        }, new double[][] {
+            {100.0, 100.0},
+            {0.0, 0.0},
+            {0.0, 0.0},
+        });
+        FollowerBenchmark setup = new FollowerBenchmark(spline.sampleEven(6.0, 0.000001));
+        MonteCarloSimulation simulation = new MonteCarloSimulation(setup.route, NoiseModel.typical(), () -> setup.follower(name), setup.trackLength);
+
+        long start = System.nanoTime();
+        TrackingMetrics.Summary[] results = simulation.run(seed, runs);
+        System.out.println(name + ", seed " + seed + ", " + (System.nanoTime() - start) / 1e6 + " ms");
+        report(results);
+    }
+}
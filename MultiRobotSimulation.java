@@ -0,0 +1,236 @@
+import java.lang.Math;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * <h1> MultiRobotSimulation </h1>
+ *
+ * A bunch of robots, each following its own path, on the same field at the same time. Good for checking that
+ * an alliance's autonomous routines don't run into each other.
+ *
+ * Every tick, each robot's pure pursuit and tank drive step runs in parallel (they don't depend on each other within a tick).
+ * Then we look for robots that are too close. Instead of checking every pair, robots get dropped into a spatial hash
+ * (a grid of cells as big as the biggest robot, hashed into a table), which is rebuilt from scratch each tick in O(N).
+ * A robot can only touch robots in its own cell or the 8 around it.
+ *
+ * Robots are circles. Paths all have to be in the same field coordinates, so give each robot its own starting position.
+ *
+ * <b> UNITS ARE IN INCHES. </b>
+ *
+ * @since 2026-10-19
+ */
+public class MultiRobotSimulation {
+    public final PathGenerator[] generators;
+    public final Robot[] robots;
+    public final double[] radii;
+    public final int count;
+    public double goalRadius;
+    // Robots closer than this (edge to edge) count as a near miss.
+    public double proximityMargin;
+
+    public boolean[] finished;
+    public double time;
+    public int ticks;
+    public int collisionTicks;
+    public int nearMissTicks;
+    // Closest two robots ever got, edge to edge. Negative means they overlapped.
+    public double minSeparation;
+    public List<Contact> contacts;
+
+    // Spatial hash: first robot in each bucket, then a linked list through next.
+    private final int[] buckets;
+    private final int[] next;
+    private final int[] cellX;
+    private final int[] cellY;
+    private final double cellSize;
+
+    /**
+     * Two robots touching.
+     */
+    public static class Contact {
+        public final double time;
+        public final int first;
+        public final int second;
+        public final double separation;
+
+        public Contact(double time, int first, int second, double separation) {
+            this.time = time;
+            this.first = first;
+            this.second = second;
+            this.separation = separation;
+        }
+
+        @Override
+        public String toString() {
+            return "Robots " + this.first + " and " + this.second + " touching at " + this.time + " s (separation " + this.separation + " in)";
+        }
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param generators Each robot's path generator.
+     * @param robots The robots, already at their starting positions.
+     * @param radii How big each robot is.
+     */
+    public MultiRobotSimulation(PathGenerator[] generators, Robot[] robots, double[] radii) {
+        this.generators = generators;
+        this.robots = robots;
+        this.radii = radii;
+        this.count = robots.length;
+        this.goalRadius = 1.0;
+        this.proximityMargin = 6.0;
+        this.finished = new boolean[this.count];
+        this.contacts = new ArrayList<Contact>();
+        this.minSeparation = Double.POSITIVE_INFINITY;
+
+        double biggest = 0.0;
+        for(double radius : radii) {
+            biggest = Math.max(biggest, radius);
+        }
+        this.cellSize = 2.0 * biggest + this.proximityMargin;
+        this.buckets = new int[Integer.highestOneBit(Math.max(1, 2 * this.count - 1)) << 1];
+        this.next = new int[this.count];
+        this.cellX = new int[this.count];
+        this.cellY = new int[this.count];
+    }
+
+    /**
+     * Runs until everyone's done or time runs out.
+     *
+     * @param maxTime The longest to run, in seconds.
+     */
+    public void run(double maxTime) {
+        while(this.time < maxTime && !allFinished()) {
+            step();
+        }
+    }
+
+    /**
+     * One tick: everyone drives, then we check for contact.
+     */
+    public void step() {
+        IntStream.range(0, this.count).parallel().forEach(this::drive);
+        this.time += this.robots[0].timeInterval;
+        this.ticks++;
+        checkContacts();
+    }
+
+    private void drive(int i) {
+        if(this.finished[i]) {
+            return;
+        }
+        PathGenerator generator = this.generators[i];
+        Robot robot = this.robots[i];
+        int last = generator.pointCount() - 1;
+        if(PathGenerator.Magnitude(generator.pointX(last), generator.pointY(last), robot.robotPos[0][0], robot.robotPos[0][1]) <= this.goalRadius) {
+            this.finished[i] = true;
+            return;
+        }
+        generator.updatePos(robot.robotPos, robot.robotAngle);
+        robot.tankDrive(generator.velocity(robot.trackLength, true), generator.velocity(robot.trackLength, false));
+    }
+
+    /**
+     * Rebuilds the spatial hash and checks every robot against the ones in neighboring cells.
+     */
+    private void checkContacts() {
+        Arrays.fill(this.buckets, -1);
+        for(int i = 0; i < this.count; ++i) {
+            this.cellX[i] = (int) Math.floor(this.robots[i].robotPos[0][0] / this.cellSize);
+            this.cellY[i] = (int) Math.floor(this.robots[i].robotPos[0][1] / this.cellSize);
+            int bucket = bucket(this.cellX[i], this.cellY[i]);
+            this.next[i] = this.buckets[bucket];
+            this.buckets[bucket] = i;
+        }
+
+        boolean collided = false;
+        boolean nearMiss = false;
+        for(int i = 0; i < this.count; ++i) {
+            for(int dx = -1; dx <= 1; ++dx) {
+                for(int dy = -1; dy <= 1; ++dy) {
+                    int x = this.cellX[i] + dx;
+                    int y = this.cellY[i] + dy;
+                    for(int j = this.buckets[bucket(x, y)]; j != -1; j = this.next[j]) {
+                        // j > i so each pair only gets checked once; the cell check skips other cells that hashed into the same bucket.
+                        if(j <= i || this.cellX[j] != x || this.cellY[j] != y) {
+                            continue;
+                        }
+                        double separation = PathGenerator.Magnitude(this.robots[i].robotPos[0][0], this.robots[i].robotPos[0][1],
+                            this.robots[j].robotPos[0][0], this.robots[j].robotPos[0][1]) - this.radii[i] - this.radii[j];
+                        this.minSeparation = Math.min(this.minSeparation, separation);
+                        if(separation < 0.0) {
+                            collided = true;
+                            this.contacts.add(new Contact(this.time, i, j, separation));
+                        } else if(separation < this.proximityMargin) {
+                            nearMiss = true;
+                        }
+                    }
+                }
+            }
+        }
+        if(collided) {
+            this.collisionTicks++;
+        }
+        if(nearMiss) {
+            this.nearMissTicks++;
+        }
+    }
+
+    private int bucket(int x, int y) {
+        int hash = x * 0x9E3779B1 + y * 0x85EBCA77;
+
+        return (hash ^ (hash >>> 16)) & (this.buckets.length - 1);
+    }
+
+    private boolean allFinished() {
+        for(boolean done : this.finished) {
+            if(!done) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * A few robots driving the test path from {@code Main}, each one 60 inches to the right of the last and a bit faster,
+     * so their paths cross.
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        Spline spline = new Spline(new double[][] {
+            {0.0, 0.0},
+            {1.0, 1.0},
+            {0.0, 0.0},
+        }, new double[][] {
+            {100.0, 100.0},
+            {0.0, 0.0},
+            {0.0, 0.0},
+        });
+        PathGenerator[] generators = new PathGenerator[count];
+        Robot[] robots = new Robot[count];
+        double[] radii = new double[count];
+        for(int i = 0; i < count; ++i) {
+            double offset = 60.0 * i;
+            // Shift the points instead of the spline, since calculateCoeffs only really works for splines starting at (0, 0).
+            double[][] route = spline.sampleEven(6.0, 0.001);
+            for(double[] point : route) {
+                point[0] += offset;
+            }
+            generators[i] = new PathGenerator(route, 10.0 + i, 2.0, 12.0);
+            robots[i] = new Robot(new double[][] {{offset, 0.0}}, 0.02, 34.0);
+            radii[i] = 20.0;
+        }
+
+        MultiRobotSimulation simulation = new MultiRobotSimulation(generators, robots, radii);
+        simulation.run(60.0);
+        for(int i = 0; i < Math.min(10, simulation.contacts.size()); ++i) {
+            System.out.println(simulation.contacts.get(i));
+        }
+        System.out.println(simulation.ticks + " ticks, " + simulation.collisionTicks + " with a collision, " + simulation.nearMissTicks
+            + " with a near miss, closest approach " + simulation.minSeparation + " in");
+    }
+}
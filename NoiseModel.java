@@ -0,0 +1,138 @@
+import java.lang.Math;
+import java.util.SplittableRandom;
+
+/**
+ * <h1> NoiseModel </h1>
+ *
+ * Makes the simulation a bit more like a real robot. {@code Robot.tankDrive} does exactly what it's told and
+ * the follower always knows exactly where the robot is, which never happens on the field. This adds:
+ * <ul>
+ * <li> wheel noise: each wheel goes a random percentage faster or slower than commanded, every tick, </li>
+ * <li> wheel slip: now and then a wheel loses some of its speed for a tick, </li>
+ * <li> odometry noise: the measured position drifts away from the real one the further the robot drives, </li>
+ * <li> heading noise: the gyro reading is off by a little random noise plus a bias that slowly wanders. </li>
+ * </ul>
+ * All of them are normal distributions, except slip, which either happens or doesn't. Anything set to 0 is turned off.
+ *
+ * This class is just the settings. Each run gets its own {@code Run}, with its own random numbers and drift,
+ * so runs never share a random number generator and the same seed always gives the same run, on any thread.
+ *
+ * <b> UNITS ARE IN INCHES. ANGLES ARE IN DEGREES. </b>
+ *
+ * @since 2026-10-19
+ */
+public class NoiseModel {
+    // Standard deviation of each wheel's speed, as a fraction of the command
+    public double wheelNoise;
+    // Chance per tick that a wheel slips, and how much of its speed it loses when it does
+    public double slipChance;
+    public double slipLoss;
+    // How fast the odometry position error grows, in inches per root inch driven. It's a random walk, so after d inches
+    // each axis is off by about odometryNoise * sqrt(d).
+    public double odometryNoise;
+    // Standard deviation of each gyro reading, in degrees
+    public double headingNoise;
+    // How fast the gyro bias wanders, in degrees per root second
+    public double gyroDrift;
+
+    /**
+     * Constructor. Everything starts off, so this is the same as no noise at all.
+     */
+    public NoiseModel() {
+    }
+
+    /**
+     * Some numbers that look like a decent FRC drivetrain with a cheap gyro.
+     *
+     * @return The model.
+     */
+    public static NoiseModel typical() {
+        NoiseModel model = new NoiseModel();
+        model.wheelNoise = 0.03;
+        model.slipChance = 0.01;
+        model.slipLoss = 0.3;
+        model.odometryNoise = 0.02;
+        model.headingNoise = 0.5;
+        model.gyroDrift = 0.1;
+
+        return model;
+    }
+
+    /**
+     * @param random This run's random numbers. Nothing else should use them.
+     *
+     * @return A new run.
+     */
+    public Run start(SplittableRandom random) {
+        return new Run(this, random);
+    }
+
+    /**
+     * The noise for one run: its random numbers, and how far the odometry and gyro have drifted so far.
+     */
+    public static final class Run {
+        public final NoiseModel model;
+        private final SplittableRandom random;
+        private double odometryErrorX;
+        private double odometryErrorY;
+        private double gyroBias;
+
+        private Run(NoiseModel model, SplittableRandom random) {
+            this.model = model;
+            this.random = random;
+        }
+
+        /**
+         * Drives the robot for one tick, with the wheels doing roughly what they're told.
+         *
+         * @param robot The robot. Its position is the real one.
+         * @param lVelocity The left wheel command.
+         * @param rVelocity The right wheel command.
+         */
+        public void drive(Robot robot, double lVelocity, double rVelocity) {
+            double left = lVelocity * wheelFactor();
+            double right = rVelocity * wheelFactor();
+            double x = robot.robotPos[0][0];
+            double y = robot.robotPos[0][1];
+            robot.tankDrive(left, right);
+
+            double driven = PathGenerator.Magnitude(x, y, robot.robotPos[0][0], robot.robotPos[0][1]);
+            // Odometry error is a random walk in distance: the further we go, the more it's off.
+            double spread = this.model.odometryNoise * Math.sqrt(driven);
+            if(spread > 0.0) {
+                this.odometryErrorX += spread * this.random.nextGaussian();
+                this.odometryErrorY += spread * this.random.nextGaussian();
+            }
+            if(this.model.gyroDrift > 0.0) {
+                this.gyroBias += this.model.gyroDrift * Math.sqrt(robot.timeInterval) * this.random.nextGaussian();
+            }
+        }
+
+        /**
+         * Where the robot thinks it is.
+         *
+         * @param robot The robot.
+         * @param pose Gets the measured x, y and angle.
+         */
+        public void sense(Robot robot, double[] pose) {
+            pose[0] = robot.robotPos[0][0] + this.odometryErrorX;
+            pose[1] = robot.robotPos[0][1] + this.odometryErrorY;
+            pose[2] = robot.robotAngle + this.gyroBias;
+            if(this.model.headingNoise > 0.0) {
+                pose[2] += this.model.headingNoise * this.random.nextGaussian();
+            }
+        }
+
+        private double wheelFactor() {
+            double factor = 1.0;
+            if(this.model.wheelNoise > 0.0) {
+                factor += this.model.wheelNoise * this.random.nextGaussian();
+            }
+            if(this.model.slipChance > 0.0 && this.random.nextDouble() < this.model.slipChance) {
+                factor *= 1.0 - this.model.slipLoss;
+            }
+
+            return factor;
+        }
+    }
+}
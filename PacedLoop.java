@@ -0,0 +1,201 @@
+import java.lang.Math;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <h1> PacedLoop </h1>
+ *
+ * Runs the path follower in real time, one tick every control period, like the RoboRIO would.
+ * The point is to check that one tick of {@code PathGenerator} work actually fits in 20 ms before it goes on the robot.
+ *
+ * The loop runs on its own thread. It parks until a little before each tick is due, then spins the rest of the way,
+ * since {@code parkNanos} on its own usually wakes up late.
+ *
+ * For every tick it records:
+ * <ul>
+ * <li> jitter: how late the tick started compared to when it was supposed to, </li>
+ * <li> work: how long the tick took, which is an overrun if it's longer than the period, </li>
+ * <li> deadline misses: ticks that finished after the next tick was supposed to start. </li>
+ * </ul>
+ *
+ * @since 2026-10-19
+ */
+public class PacedLoop {
+    public long periodNanos;
+    // How long before a tick we stop parking and start spinning.
+    public long spinNanos;
+    public int maxTicks;
+    public double goalRadius;
+
+    // One entry per tick
+    public long[] jitterNanos;
+    public long[] workNanos;
+    public int ticks;
+    public int deadlineMisses;
+    public int overruns;
+    public boolean reachedGoal;
+
+    /**
+     * Constructor.
+     *
+     * @param period The control period, in seconds. Use {@code robot.timeInterval}.
+     * @param maxTicks The most ticks to run before giving up.
+     */
+    public PacedLoop(double period, int maxTicks) {
+        this.periodNanos = (long) (period * 1e9);
+        this.spinNanos = 200_000L;
+        this.maxTicks = maxTicks;
+        this.goalRadius = 1.0;
+        this.jitterNanos = new long[maxTicks];
+        this.workNanos = new long[maxTicks];
+    }
+
+    /**
+     * Follows the path at wall clock rate on a dedicated thread, and waits for it to finish.
+     *
+     * @param generator The path generator.
+     * @param robot The robot.
+     *
+     * @throws InterruptedException If we get interrupted while waiting.
+     * @throws IllegalStateException If the loop threw, with what it threw as the cause. The stats only cover the
+     *     ticks before that.
+     */
+    public void run(PathGenerator generator, Robot robot) throws InterruptedException {
+        AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        Thread thread = new Thread(() -> {
+            SimMetrics.PACED_LOOPS_RUNNING.increment();
+            try {
+                loop(generator, robot);
+            } catch(Throwable t) {
+                failure.set(t);
+            } finally {
+                SimMetrics.PACED_LOOPS_RUNNING.decrement();
+            }
+        }, "paced-follower");
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.setDaemon(true);
+        thread.start();
+        thread.join();
+        if(failure.get() != null) {
+            throw new IllegalStateException("Paced loop failed after " + this.ticks + " ticks", failure.get());
+        }
+    }
+
+    /**
+     * The loop itself. Runs on whatever thread calls it.
+     *
+     * @param generator The path generator.
+     * @param robot The robot.
+     */
+    public void loop(PathGenerator generator, Robot robot) {
+        this.ticks = 0;
+        this.deadlineMisses = 0;
+        this.overruns = 0;
+        this.reachedGoal = false;
+        int last = generator.pointCount() - 1;
+        double goalX = generator.pointX(last);
+        double goalY = generator.pointY(last);
+        long start = System.nanoTime();
+
+        for(int i = 0; i < this.maxTicks; ++i) {
+            long scheduled = start + i * this.periodNanos;
+            waitUntil(scheduled);
+
+            long tickStart = System.nanoTime();
+            generator.updatePos(robot.robotPos, robot.robotAngle);
+            robot.tankDrive(generator.velocity(robot.trackLength, true), generator.velocity(robot.trackLength, false));
+            long tickEnd = System.nanoTime();
+
+            this.jitterNanos[i] = tickStart - scheduled;
+            this.workNanos[i] = tickEnd - tickStart;
+            if(this.workNanos[i] > this.periodNanos) {
+                this.overruns++;
+                SimMetrics.OVERRUNS.increment();
+            }
+            if(tickEnd > scheduled + this.periodNanos) {
+                this.deadlineMisses++;
+                SimMetrics.DEADLINE_MISSES.increment();
+            }
+            this.ticks++;
+            SimMetrics.PACED_TICKS.increment();
+
+            if(PathGenerator.Magnitude(goalX, goalY, robot.robotPos[0][0], robot.robotPos[0][1]) <= this.goalRadius) {
+                this.reachedGoal = true;
+                break;
+            }
+        }
+    }
+
+    /**
+     * Parks until {@code spinNanos} before the deadline, then spins. If we're already late this returns right away.
+     *
+     * @param deadline The {@code System.nanoTime()} to wait for.
+     */
+    private void waitUntil(long deadline) {
+        long remaining = deadline - System.nanoTime();
+        while(remaining > this.spinNanos) {
+            LockSupport.parkNanos(remaining - this.spinNanos);
+            remaining = deadline - System.nanoTime();
+        }
+        while(System.nanoTime() - deadline < 0) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * @return The worst jitter, in nanoseconds.
+     */
+    public long maxJitter() {
+        return max(this.jitterNanos);
+    }
+
+    /**
+     * @return The longest tick, in nanoseconds.
+     */
+    public long maxWork() {
+        return max(this.workNanos);
+    }
+
+    /**
+     * @return The average jitter, in nanoseconds.
+     */
+    public double meanJitter() {
+        return mean(this.jitterNanos);
+    }
+
+    /**
+     * @return The average tick, in nanoseconds.
+     */
+    public double meanWork() {
+        return mean(this.workNanos);
+    }
+
+    /**
+     * @return A one line summary, for printing.
+     */
+    public String summary() {
+        return this.ticks + " ticks, " + this.deadlineMisses + " deadline misses, " + this.overruns + " overruns, jitter mean/max "
+            + meanJitter() / 1e3 + "/" + maxJitter() / 1e3 + " us, work mean/max " + meanWork() / 1e3 + "/" + maxWork() / 1e3 + " us";
+    }
+
+    private long max(long[] values) {
+        long result = 0L;
+        for(int i = 0; i < this.ticks; ++i) {
+            result = Math.max(result, values[i]);
+        }
+
+        return result;
+    }
+
+    private double mean(long[] values) {
+        if(this.ticks == 0) {
+            return 0.0;
+        }
+        double sum = 0.0;
+        for(int i = 0; i < this.ticks; ++i) {
+            sum += values[i];
+        }
+
+        return sum / this.ticks;
+    }
+}
@@ -0,0 +1,362 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * <h1> PathCompiler </h1>
+ *
+ * Builds every autonomous path ahead of time, instead of editing the arrays in {@code Main} and regenerating one path at a time.
+ * Give it a directory of {@code .route} files and it makes a {@code .path} file for each one: the spline sampled every
+ * {@code spacing} inches, with the {@code PathGenerator} velocities, packed into a {@code CompactPath}.
+ * Routes are compiled in parallel, and any route whose {@code .route} file and sampling tolerance haven't changed since
+ * its {@code .path} was made is skipped. A route that can't be built (a spline that comes out as NaN, or one too short
+ * for two points) fails on its own without holding up the others.
+ *
+ * A route file is one setting per line, with {@code #} for comments. Start and end are x, y, x velocity, y velocity,
+ * x acceleration and y acceleration, like the arrays {@code Spline} takes:
+ * <pre>
+ * start 0 0 1 1 0 0
+ * end 100 100 0 0 0 0
+ * spacing 6
+ * maxVel 10
+ * accel 2
+ * lookahead 12
+ * </pre>
+ *
+ * A {@code .path} file is big-endian: an int {@code MAGIC}, an int {@code VERSION}, a long hash of the route file and tolerance,
+ * the lookahead radius as a double, then the {@code CompactPath} (see {@code CompactPath.write}).
+ * Load one with {@code load}.
+ *
+ * From the command line: {@code java PathCompiler [routes] [paths] [--force] [--tolerance inches]}.
+ *
+ * <b> UNITS ARE IN INCHES. </b>
+ *
+ * @since 2026-10-19
+ */
+public class PathCompiler {
+    public static final int MAGIC = 0x50415448;
+    public static final int VERSION = 1;
+    public static final String ROUTE_EXTENSION = ".route";
+    public static final String PATH_EXTENSION = ".path";
+
+    public final Path routeDirectory;
+    public final Path outputDirectory;
+    // Rebuild everything, even routes that haven't changed.
+    public boolean force;
+    // Arc length tolerance for sampling the spline, in inches.
+    public double tolerance;
+
+    /**
+     * A route file, read in.
+     */
+    public static class Route {
+        public final double[][] start = new double[3][2];
+        public final double[][] end = new double[3][2];
+        public double spacing = 6.0;
+        public double maxVel = 10.0;
+        public double accel = 2.0;
+        public double lookahead = 12.0;
+
+        /**
+         * Reads a route file.
+         *
+         * @param text The file's contents.
+         * @param name The file's name, for error messages.
+         *
+         * @return The route.
+         */
+        public static Route parse(String text, String name) {
+            Route route = new Route();
+            boolean hasStart = false;
+            boolean hasEnd = false;
+            String[] lines = text.split("\\R");
+            for(int n = 0; n < lines.length; ++n) {
+                String line = lines[n];
+                int comment = line.indexOf('#');
+                if(comment >= 0) {
+                    line = line.substring(0, comment);
+                }
+                line = line.trim();
+                if(line.isEmpty()) {
+                    continue;
+                }
+                String[] parts = line.split("\\s+");
+                try {
+                    switch(parts[0]) {
+                        case "start":
+                            readState(parts, route.start);
+                            hasStart = true;
+                            break;
+                        case "end":
+                            readState(parts, route.end);
+                            hasEnd = true;
+                            break;
+                        case "spacing":
+                            route.spacing = readValue(parts);
+                            break;
+                        case "maxVel":
+                            route.maxVel = readValue(parts);
+                            break;
+                        case "accel":
+                            route.accel = readValue(parts);
+                            break;
+                        case "lookahead":
+                            route.lookahead = readValue(parts);
+                            break;
+                        default:
+                            throw new IllegalArgumentException("unknown setting " + parts[0]);
+                    }
+                } catch(IllegalArgumentException e) {
+                    throw new IllegalArgumentException(name + " line " + (n + 1) + ": " + e.getMessage(), e);
+                }
+            }
+            if(!hasStart || !hasEnd) {
+                throw new IllegalArgumentException(name + ": needs both a start and an end.");
+            }
+            if(route.spacing <= 0.0) {
+                throw new IllegalArgumentException(name + ": spacing has to be more than 0.");
+            }
+
+            return route;
+        }
+
+        private static void readState(String[] parts, double[][] state) {
+            if(parts.length != 7) {
+                throw new IllegalArgumentException(parts[0] + " needs 6 numbers: x y xVel yVel xAccel yAccel");
+            }
+            for(int i = 0; i < 6; ++i) {
+                state[i / 2][i % 2] = Double.parseDouble(parts[i + 1]);
+            }
+        }
+
+        private static double readValue(String[] parts) {
+            if(parts.length != 2) {
+                throw new IllegalArgumentException(parts[0] + " needs exactly 1 number");
+            }
+
+            return Double.parseDouble(parts[1]);
+        }
+    }
+
+    /**
+     * What happened to one route.
+     */
+    public static class Result {
+        public final String name;
+        // "compiled", "unchanged" or "failed"
+        public final String status;
+        public final long nanos;
+        public final int points;
+        public final long bytes;
+        public final String error;
+
+        public Result(String name, String status, long nanos, int points, long bytes, String error) {
+            this.name = name;
+            this.status = status;
+            this.nanos = nanos;
+            this.points = points;
+            this.bytes = bytes;
+            this.error = error;
+        }
+
+        @Override
+        public String toString() {
+            if(this.error != null) {
+                return String.format("%-24s %-9s %s", this.name, this.status, this.error);
+            }
+
+            return String.format("%-24s %-9s %8.2f ms %5d points %7d bytes", this.name, this.status, this.nanos / 1e6, this.points, this.bytes);
+        }
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param routeDirectory Where the {@code .route} files are.
+     * @param outputDirectory Where the {@code .path} files go. Gets made if it isn't there.
+     */
+    public PathCompiler(Path routeDirectory, Path outputDirectory) {
+        this.routeDirectory = routeDirectory;
+        this.outputDirectory = outputDirectory;
+        this.tolerance = 0.000001;
+    }
+
+    /**
+     * Compiles every route in the directory, in parallel.
+     *
+     * @return What happened to each route, sorted by name.
+     */
+    public List<Result> compileAll() throws IOException {
+        Files.createDirectories(this.outputDirectory);
+        List<Path> routes = new ArrayList<Path>();
+        try(DirectoryStream<Path> files = Files.newDirectoryStream(this.routeDirectory, "*" + ROUTE_EXTENSION)) {
+            for(Path file : files) {
+                routes.add(file);
+            }
+        }
+        Collections.sort(routes);
+
+        return routes.parallelStream().map(this::compile).collect(Collectors.toList());
+    }
+
+    /**
+     * Compiles one route, unless its {@code .path} is already up to date.
+     *
+     * @param routeFile The route file.
+     *
+     * @return What happened.
+     */
+    public Result compile(Path routeFile) {
+        String fileName = routeFile.getFileName().toString();
+        String name = fileName.substring(0, fileName.length() - ROUTE_EXTENSION.length());
+        long startTime = System.nanoTime();
+        try {
+            byte[] input = Files.readAllBytes(routeFile);
+            long hash = hash(input, this.tolerance);
+            Path output = this.outputDirectory.resolve(name + PATH_EXTENSION);
+            if(!this.force && storedHash(output) == hash) {
+                return new Result(name, "unchanged", System.nanoTime() - startTime, 0, Files.size(output), null);
+            }
+
+            Route route = Route.parse(new String(input, StandardCharsets.UTF_8), fileName);
+            Spline spline = new Spline(route.start, route.end);
+            for(int i = 0; i < 6; ++i) {
+                if(!Double.isFinite(spline.xCoeffs[i]) || !Double.isFinite(spline.yCoeffs[i])) {
+                    // Spline.calculateCoeffs divides by the end point, so an end x or y of 0 does this.
+                    throw new IllegalArgumentException(fileName + ": the spline's coefficients aren't real numbers. Spline can't end with x or y at 0.");
+                }
+            }
+            double[][] points = spline.sampleEven(route.spacing, this.tolerance);
+            if(points.length < 2) {
+                throw new IllegalArgumentException(fileName + ": the path is shorter than one spacing, so it only has " + points.length + " point.");
+            }
+            PathGenerator generator = new PathGenerator(points, route.maxVel, route.accel, route.lookahead);
+            CompactPath compact = CompactPath.encode(generator);
+
+            // Write to a temporary file and move it over, so a crash never leaves half a path behind.
+            Path temporary = this.outputDirectory.resolve(name + PATH_EXTENSION + ".tmp");
+            try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(hash);
+                out.writeDouble(route.lookahead);
+                compact.write(out);
+            }
+            Files.move(temporary, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            return new Result(name, "compiled", System.nanoTime() - startTime, compact.length, Files.size(output), null);
+        } catch(IOException | RuntimeException e) {
+            return new Result(name, "failed", System.nanoTime() - startTime, 0, 0, e.toString());
+        }
+    }
+
+    /**
+     * Loads a compiled path, ready to follow.
+     *
+     * @param file The {@code .path} file.
+     *
+     * @return A generator following it, with the lookahead radius from its route.
+     */
+    public static PathGenerator load(Path file) throws IOException {
+        try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if(in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException(file + " isn't a version " + VERSION + " path file.");
+            }
+            in.readLong();
+            double lookahead = in.readDouble();
+
+            return new PathGenerator(CompactPath.read(in), lookahead);
+        }
+    }
+
+    /**
+     * @return The route hash saved in a {@code .path} file, or 0 if there isn't a usable one.
+     */
+    private static long storedHash(Path output) {
+        if(!Files.isRegularFile(output)) {
+            return 0L;
+        }
+        try(DataInputStream in = new DataInputStream(Files.newInputStream(output))) {
+            if(in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return 0L;
+            }
+
+            return in.readLong();
+        } catch(IOException e) {
+            return 0L;
+        }
+    }
+
+    /**
+     * The first 8 bytes of the SHA-256 of the format version, the sampling tolerance and the route file,
+     * so changing the format or the tolerance rebuilds everything.
+     */
+    private static long hash(byte[] input, double tolerance) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(ByteBuffer.allocate(12).putInt(VERSION).putDouble(tolerance).array());
+            long hash = ByteBuffer.wrap(digest.digest(input)).getLong();
+
+            // 0 means "no hash", so don't ever use it.
+            return hash == 0L ? 1L : hash;
+        } catch(NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Every JVM is supposed to have SHA-256.", e);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<String> arguments = new ArrayList<String>();
+        boolean force = false;
+        double tolerance = 0.0;
+        for(int i = 0; i < args.length; ++i) {
+            if(args[i].equals("--force")) {
+                force = true;
+            } else if(args[i].equals("--tolerance")) {
+                tolerance = Double.parseDouble(args[++i]);
+            } else {
+                arguments.add(args[i]);
+            }
+        }
+        Path routes = Paths.get(arguments.size() > 0 ? arguments.get(0) : "routes");
+        Path output = Paths.get(arguments.size() > 1 ? arguments.get(1) : "paths");
+
+        PathCompiler compiler = new PathCompiler(routes, output);
+        compiler.force = force;
+        if(tolerance > 0.0) {
+            compiler.tolerance = tolerance;
+        }
+        long start = System.nanoTime();
+        List<Result> results = compiler.compileAll();
+        long elapsed = System.nanoTime() - start;
+
+        int compiled = 0;
+        int failed = 0;
+        long bytes = 0;
+        for(Result result : results) {
+            System.out.println(result);
+            compiled += result.status.equals("compiled") ? 1 : 0;
+            failed += result.status.equals("failed") ? 1 : 0;
+            bytes += result.bytes;
+        }
+        System.out.println(results.size() + " routes, " + compiled + " compiled, " + (results.size() - compiled - failed) + " unchanged, "
+            + failed + " failed, " + bytes + " bytes, " + elapsed / 1e6 + " ms");
+        if(failed > 0) {
+            System.exit(1);
+        }
+    }
+}
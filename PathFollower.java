@@ -0,0 +1,32 @@
+/**
+ * <h1> PathFollower </h1>
+ *
+ * Anything that turns where the robot is into wheel velocities. Pure pursuit used to be the only option,
+ * baked into {@code PathGenerator}. Now any follower can be dropped into the same simulation loop or benchmark.
+ *
+ * Implementations should be final and not allocate anything in {@code command}, so the JIT can inline the one
+ * that's actually in use and the loop doesn't make garbage every tick.
+ *
+ * <b> UNITS ARE IN INCHES. ANGLES ARE IN DEGREES. </b>
+ *
+ * @since 2026-10-19
+ */
+public interface PathFollower {
+    int LEFT = 0;
+    int RIGHT = 1;
+
+    /**
+     * Works out the wheel velocities for one tick.
+     *
+     * @param x The robot's x.
+     * @param y The robot's y.
+     * @param angle The robot's angle, in degrees, like {@code robot.robotAngle}.
+     * @param wheels Gets the left velocity at {@code LEFT} and the right velocity at {@code RIGHT}, in in/s.
+     */
+    void command(double x, double y, double angle, double[] wheels);
+
+    /**
+     * Goes back to the start of the path, so the same follower can be used for another run.
+     */
+    void reset();
+}
@@ -1,4 +1,5 @@
 import java.lang.Math;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * <h1>PathGenerator</h1> Generates a motion-profiled pure pursuit path given a
@@ -20,6 +21,10 @@ public class PathGenerator {
 	public double lookaheadRadius;
 	public int prevClosestPoint;
 	public double robotAngle;
+	// Only set when following a compact path. Then path and segV are null.
+	public CompactPath compactPath;
+	// Set once a copy shares segV. Both generators hold the same flag, so neither one writes into the array after that.
+	private AtomicBoolean segVShared;
 
 	/**
 	 * The constructor for a {@code PathGenerator} object.
@@ -31,33 +36,60 @@ public class PathGenerator {
 	 * @param lookaheadRadius The radius for the lookahead point. Usually a value from 12-25 inches.
 	 */
 	public PathGenerator(double[][] route, double pathMaxVel, double accel, double lookaheadRadius) {
+		this.robotPos = new double[][] {
+			{0.0, 0.0},
+		};
+		this.currentLookaheadPoint = new double[2][2];
+		reset(route, pathMaxVel, accel, lookaheadRadius);
+	}
+
+	/**
+	 * Starts over on a new path, or the same one with different numbers, without making new arrays.
+	 * {@code segV} gets reused if it's the right length, and isn't recalculated at all if the path, max velocity and acceleration
+	 * are the same as last time. So don't change a path's points after giving it to a {@code PathGenerator}.
+	 * <b>UNITS ARE IN INCHES.</b>
+	 * 
+	 * @param route The path, represented by an array of (x, y) coordinates.
+	 * @param pathMaxVel The maxmimum theoretical velocity the path can be.
+	 * @param accel The acceleration of the robot.
+	 * @param lookaheadRadius The radius for the lookahead point. Usually a value from 12-25 inches.
+	 */
+	public void reset(double[][] route, double pathMaxVel, double accel, double lookaheadRadius) {
+		boolean sameProfile = route == this.path && pathMaxVel == this.pathMaxVel && accel == this.accel && this.segV != null;
 		// Doesn't have to be 6, but it is 6.
 		// May change the second and third values depending on the path.
 		this.path = route;
+		this.compactPath = null;
 		
 		this.pathMaxVel = pathMaxVel;
 		this.accel = accel;
-		this.robotPos = new double[][] {
-			{0.0, 0.0},
-		};
+		this.robotPos[0][0] = 0.0;
+		this.robotPos[0][1] = 0.0;
 		this.robotAngle = 0.0;
 		this.lookaheadRadius = lookaheadRadius;
 		// The first lookahead point is just a point along the first. I feel like this is wrong.
-		this.currentLookaheadPoint = new double[][] {
-			{this.lookaheadRadius * (this.path[1][0] - this.path[0][0]), this.lookaheadRadius * (this.path[1][1] - this.path[0][1])},
-			{0.001, 0.0},
-		};
+		this.currentLookaheadPoint[0][0] = this.lookaheadRadius * (this.path[1][0] - this.path[0][0]);
+		this.currentLookaheadPoint[0][1] = this.lookaheadRadius * (this.path[1][1] - this.path[0][1]);
+		this.currentLookaheadPoint[1][0] = 0.001;
+		this.currentLookaheadPoint[1][1] = 0.0;
 		this.prevClosestPoint = 0;
 
-		this.segV = new double[this.path.length];
+		if(sameProfile) {
+			return;
+		}
+		SimMetrics.PATHS_GENERATED.increment();
+		if(this.segV == null || this.segV.length != this.path.length || this.segVShared == null || this.segVShared.get()) {
+			this.segV = new double[this.path.length];
+			this.segVShared = new AtomicBoolean(false);
+		}
+		double[][] temp2 = new double[3][2];
 		this.segV[this.path.length - 1] = 0.0;
 		this.segV[0] = this.pathMaxVel;
 		for(int i = this.path.length - 2; i >= 1; i--) {
-			double[][] temp2 = new double[][] {
-				{this.path[i - 1][0], this.path[i - 1][1]},
-				{this.path[i][0], this.path[i][1]},
-				{this.path[i + 1][0], this.path[i + 1][1]},
-			};
+			for(int j = 0; j < 3; ++j) {
+				temp2[j][0] = this.path[i - 1 + j][0];
+				temp2[j][1] = this.path[i - 1 + j][1];
+			}
 			// System.out.println("temp2 value at waypoint " + i + ": " + "\n" + "{" + temp2[0][0] + ", " + temp2[0][1] + "}, \n" + "{" + temp2[1][0] + ", " + temp2[1][1] + "}, \n" + "{" + temp2[2][0] + ", " + temp2[2][1] + "};");
 			double kinematicThing = this.segV[i + 1] * this.segV[i + 1] + 2 * this.accel * Magnitude(this.path[i + 1][0], this.path[i + 1][1], this.path[i][0], this.path[i][1]);
 			// System.out.println("Kinematic thing at waypoint " + i + ": " + kinematicThing);
@@ -68,6 +100,105 @@ public class PathGenerator {
 			}
 		}
 	}
+
+	/**
+	 * Makes a copy of another {@code PathGenerator} that's at the same spot on the path.
+	 * The path and {@code segV} are shared instead of copied, so after this neither generator's {@code reset} writes over {@code segV}.
+	 * 
+	 * @param other The generator to copy.
+	 */
+	public PathGenerator(PathGenerator other) {
+		this.path = other.path;
+		this.segV = other.segV;
+		this.segVShared = other.segVShared;
+		if(this.segVShared != null) {
+			this.segVShared.set(true);
+		}
+		this.compactPath = other.compactPath;
+		this.pathMaxVel = other.pathMaxVel;
+		this.accel = other.accel;
+		this.robotPos = new double[][] {
+			{other.robotPos[0][0], other.robotPos[0][1]},
+		};
+		this.robotAngle = other.robotAngle;
+		this.lookaheadRadius = other.lookaheadRadius;
+		this.currentLookaheadPoint = new double[][] {
+			{other.currentLookaheadPoint[0][0], other.currentLookaheadPoint[0][1]},
+			{other.currentLookaheadPoint[1][0], other.currentLookaheadPoint[1][1]},
+		};
+		this.prevClosestPoint = other.prevClosestPoint;
+	}
+
+	/**
+	 * Follows a {@code CompactPath} directly, without unpacking it. The velocities were already worked out when it was packed.
+	 * 
+	 * @param route The compact path.
+	 * @param lookaheadRadius The radius for the lookahead point.
+	 */
+	public PathGenerator(CompactPath route, double lookaheadRadius) {
+		this.robotPos = new double[][] {
+			{0.0, 0.0},
+		};
+		this.currentLookaheadPoint = new double[2][2];
+		reset(route, lookaheadRadius);
+	}
+
+	/**
+	 * Starts over on a compact path, without making new arrays.
+	 * 
+	 * @param route The compact path.
+	 * @param lookaheadRadius The radius for the lookahead point.
+	 */
+	public void reset(CompactPath route, double lookaheadRadius) {
+		this.compactPath = route;
+		this.path = null;
+		this.segV = null;
+		this.pathMaxVel = route.pathMaxVel;
+		this.accel = route.accel;
+		this.robotPos[0][0] = 0.0;
+		this.robotPos[0][1] = 0.0;
+		this.robotAngle = 0.0;
+		this.lookaheadRadius = lookaheadRadius;
+		this.currentLookaheadPoint[0][0] = this.lookaheadRadius * (pointX(1) - pointX(0));
+		this.currentLookaheadPoint[0][1] = this.lookaheadRadius * (pointY(1) - pointY(0));
+		this.currentLookaheadPoint[1][0] = 0.001;
+		this.currentLookaheadPoint[1][1] = 0.0;
+		this.prevClosestPoint = 0;
+	}
+
+	/**
+	 * @return How many points are in the path.
+	 */
+	public int pointCount() {
+		return this.compactPath == null ? this.path.length : this.compactPath.length;
+	}
+
+	/**
+	 * @param i The index of the point.
+	 * 
+	 * @return The x coordinate of a path point.
+	 */
+	public double pointX(int i) {
+		return this.compactPath == null ? this.path[i][0] : this.compactPath.x(i);
+	}
+
+	/**
+	 * @param i The index of the point.
+	 * 
+	 * @return The y coordinate of a path point.
+	 */
+	public double pointY(int i) {
+		return this.compactPath == null ? this.path[i][1] : this.compactPath.y(i);
+	}
+
+	/**
+	 * @param i The index of the point.
+	 * 
+	 * @return The target velocity at a path point.
+	 */
+	public double targetVelocity(int i) {
+		return this.compactPath == null ? this.segV[i] : this.compactPath.velocity(i);
+	}
 		
 		/**
 		 * Distance formula, given two points (x<sub>1</sub>, y<sub>1</sub>) and (x<sub>2</sub>, y<sub>2</sub>).
@@ -147,19 +278,22 @@ public class PathGenerator {
 		 * @return The index of the closest path point.
 		 */
 		public int closestPoint() {
-			// The 0 entry is the distance; the 1 entry is the index.
-			double[][] distances = new double[this.path.length - this.prevClosestPoint][2];
+			int length = pointCount();
 			// Just to make sure our robot never goes backwards
-			for(int i = this.prevClosestPoint; i < this.path.length; ++i) {
-				distances[i - this.prevClosestPoint][0] = Magnitude(this.robotPos[0][0], this.robotPos[0][1], this.path[i][0], this.path[i][1]);
-				distances[i - this.prevClosestPoint][1] = (double) i;
-				// System.out.println("Distance from current position to point " + distances[i - this.prevClosestPoint][1] + ": " + distances[i - this.prevClosestPoint][0]);
+			int closest = this.prevClosestPoint;
+			double shortest = Double.POSITIVE_INFINITY;
+			SimMetrics.CLOSEST_POINT_CALLS.increment();
+			SimMetrics.CLOSEST_POINT_SCANNED.add(length - this.prevClosestPoint);
+			for(int i = this.prevClosestPoint; i < length; ++i) {
+				double distance = Magnitude(this.robotPos[0][0], this.robotPos[0][1], pointX(i), pointY(i));
+				if(distance < shortest) {
+					shortest = distance;
+					closest = i;
+				}
 			}
-			// Sort the distances in ascending order, then return the index of the shortest distance.
-			quickSort(distances, 0, distances.length - 1);
-			this.prevClosestPoint = (int) distances[0][1];
+			this.prevClosestPoint = closest;
 			// As to not return the endpoint, which has a target velocity of 0.
-			if(this.prevClosestPoint == this.path.length - 1) {
+			if(this.prevClosestPoint == length - 1) {
 				this.prevClosestPoint--;
 			}
 
@@ -169,31 +303,33 @@ public class PathGenerator {
 		/**
 		 * Gets you the lookahead point.
 		 * 
-		 * @return A 2*2 array, with the first row having the x and y coordinates and the second having the fractional index and the index.
+		 * @return {@code currentLookaheadPoint}, updated in place. A 2*2 array, with the first row having the x and y coordinates and the second having the fractional index and the index.
 		 */
 		public double[][] lookaheadPoint(double objectLookaheadRadius) {
-            double[][] point;
-            double[][] result = this.currentLookaheadPoint;
-			point = new double[][] {
-				{this.currentLookaheadPoint[0][0], this.currentLookaheadPoint[0][1]},
-				// fracIndex, index
-				{this.currentLookaheadPoint[1][0], this.currentLookaheadPoint[1][1]},
-			};
+			// The new point gets worked out in these, then written into currentLookaheadPoint at the end, so nothing gets allocated.
+			double pointX = this.currentLookaheadPoint[0][0];
+			double pointY = this.currentLookaheadPoint[0][1];
+			// fracIndex, index
+			double fracIndex = this.currentLookaheadPoint[1][0];
+			double pointIndex = this.currentLookaheadPoint[1][1];
 			int index = (int) Math.round(this.currentLookaheadPoint[1][1]);
+			int length = pointCount();
 			// Another search.
-			for(int i = index; i < this.path.length - 1; ++i) {
-				double[][] d = new double[][] {
-					{this.path[i + 1][0] - this.path[i][0], this.path[i + 1][1] - this.path[i][1]},
-				};
-				double[][] f = new double[][] {
-					{this.path[i][0] - this.robotPos[0][0], this.path[i][1] - this.robotPos[0][1]},
-				};
-				double a = Magnitude(d[0][0], d[0][1], 0.0, 0.0) * Magnitude(d[0][0], d[0][1], 0.0, 0.0);
-				double b = 2 * (d[0][0] * f[0][0] + d[0][1] * f[0][1]);
-				double c = Magnitude(f[0][0], f[0][1], 0.0, 0.0) * Magnitude(f[0][0], f[0][1], 0.0, 0.0) - objectLookaheadRadius * objectLookaheadRadius;
+			for(int i = index; i < length - 1; ++i) {
+				double dx = pointX(i + 1) - pointX(i);
+				double dy = pointY(i + 1) - pointY(i);
+				double fx = pointX(i) - this.robotPos[0][0];
+				double fy = pointY(i) - this.robotPos[0][1];
+				double a = Magnitude(dx, dy, 0.0, 0.0) * Magnitude(dx, dy, 0.0, 0.0);
+				double b = 2 * (dx * fx + dy * fy);
+				double c = Magnitude(fx, fy, 0.0, 0.0) * Magnitude(fx, fy, 0.0, 0.0) - objectLookaheadRadius * objectLookaheadRadius;
 				double discriminant = b * b - 4 * a * c;
 
-				if(discriminant < 0 && (this.closestPoint() == path.length || this.closestPoint() == path.length - 1)) {
+				if(discriminant < 0 && (this.closestPoint() == length || this.closestPoint() == length - 1)) {
+					// Stop shrinking before the radius hits 0. Past that the circle grows back and this would recurse forever.
+					if(this.lookaheadRadius <= 0.1) {
+						continue;
+					}
 					this.lookaheadRadius = this.lookaheadRadius - 0.1;
 					return lookaheadPoint(this.lookaheadRadius);
 				} else {
@@ -206,24 +342,24 @@ public class PathGenerator {
 					} else if(t2 >= 0.0 && t2 <= 1.0) {
 						t1 = 0;
 					} else {
-                        continue;
-                    }
+						continue;
+					}
 					
-					point[0][0] = this.path[i][0] + (t1 + t2) * d[0][0];
-					point[0][1] = this.path[i][1] + (t1 + t2) * d[0][1];
-					point[1][0] = t1 + t2 + i;
-					if(point[1][0] > this.currentLookaheadPoint[1][1]) {
-						point[1][1] = i;
-                        this.currentLookaheadPoint = point;
-                        result = point;
-
-						return result;
+					pointX = pointX(i) + (t1 + t2) * dx;
+					pointY = pointY(i) + (t1 + t2) * dy;
+					fracIndex = t1 + t2 + i;
+					if(fracIndex > this.currentLookaheadPoint[1][1]) {
+						pointIndex = i;
+						break;
 					}
 				}
-            };
-            result = point;
+			}
+			this.currentLookaheadPoint[0][0] = pointX;
+			this.currentLookaheadPoint[0][1] = pointY;
+			this.currentLookaheadPoint[1][0] = fracIndex;
+			this.currentLookaheadPoint[1][1] = pointIndex;
 
-			return result;
+			return this.currentLookaheadPoint;
 		}
 		
 		/**
@@ -269,7 +405,7 @@ public class PathGenerator {
 		public double velocity(double trackWidth, boolean left) {
 			double speed = 0.0;
 			double c = lookaheadCurvature();
-			double v = segV[closestPoint()];
+			double v = targetVelocity(closestPoint());
 			if(left) {
 				speed = v * (2 + c * trackWidth) / 2;
 			} else {
@@ -360,7 +496,7 @@ public class PathGenerator {
 	}
 	
 	/**
-	 * @return The path.
+	 * @return The path. Null if we're following a {@code CompactPath}.
 	 */
 	public double[][] getPath() {
 		return this.path;
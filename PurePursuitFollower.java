@@ -0,0 +1,51 @@
+/**
+ * <h1> PurePursuitFollower </h1>
+ *
+ * The pure pursuit follower we've always had, behind the {@code PathFollower} interface.
+ * All the work is still done by {@code PathGenerator}; this just works out the curvature and target velocity once
+ * per tick and splits them between the wheels, instead of calling {@code velocity} once for each side.
+ *
+ * <b> UNITS ARE IN INCHES. </b>
+ *
+ * @since 2026-10-19
+ */
+public final class PurePursuitFollower implements PathFollower {
+    public final PathGenerator generator;
+    public final double trackLength;
+
+    private final double startLookahead;
+
+    /**
+     * Constructor.
+     *
+     * @param generator The generator. It gets its position updated every tick, so don't share it.
+     * @param trackLength The distance between the left and right wheels.
+     */
+    public PurePursuitFollower(PathGenerator generator, double trackLength) {
+        this.generator = generator;
+        this.trackLength = trackLength;
+        this.startLookahead = generator.lookaheadRadius;
+    }
+
+    @Override
+    public void command(double x, double y, double angle, double[] wheels) {
+        this.generator.updatePos(x, y, angle);
+        double c = this.generator.lookaheadCurvature();
+        double v = this.generator.targetVelocity(this.generator.closestPoint());
+        // Same as PathGenerator.velocity
+        wheels[LEFT] = v * (2 + c * this.trackLength) / 2;
+        wheels[RIGHT] = v * (2 - c * this.trackLength) / 2;
+    }
+
+    /**
+     * Puts the generator back how it was when it was made, with the lookahead radius it started with.
+     */
+    @Override
+    public void reset() {
+        if(this.generator.compactPath == null) {
+            this.generator.reset(this.generator.path, this.generator.pathMaxVel, this.generator.accel, this.startLookahead);
+        } else {
+            this.generator.reset(this.generator.compactPath, this.startLookahead);
+        }
+    }
+}
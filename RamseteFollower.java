@@ -0,0 +1,91 @@
+import java.lang.Math;
+
+/**
+ * <h1> RamseteFollower </h1>
+ *
+ * The Ramsete controller: a nonlinear feedback law for differential drives that always converges, as long as
+ * the reference keeps moving. The reference pose is the robot's projection onto the path, with the path's
+ * heading there and the profile's velocity. The reference turn rate is that velocity times the path's curvature.
+ *
+ * With the error (ex, ey, eTheta) in the robot's frame:
+ * <pre>
+ * k = 2 zeta sqrt(omegaRef^2 + b vRef^2)
+ * v = vRef cos(eTheta) + k ex
+ * omega = omegaRef + k eTheta + b vRef sin(eTheta) / eTheta ey
+ * </pre>
+ * b works like a proportional gain (bigger pulls back to the path harder) and zeta like a damping ratio.
+ * The usual b = 2 is for meters, so the default here is that converted to inches.
+ *
+ * <b> UNITS ARE IN INCHES. </b>
+ *
+ * @since 2026-10-19
+ */
+public final class RamseteFollower implements PathFollower {
+    // b = 2 / m^2, in 1 / in^2
+    public static final double DEFAULT_B = 2.0 / (DrivetrainModel.INCHES_PER_METER * DrivetrainModel.INCHES_PER_METER);
+    public static final double DEFAULT_ZETA = 0.7;
+
+    public final ReferencePath path;
+    public final double trackLength;
+    public double b;
+    public double zeta;
+
+    private int index;
+
+    /**
+     * Constructor.
+     *
+     * @param path The path to follow.
+     * @param trackLength The distance between the left and right wheels.
+     * @param b How hard to pull back to the path, in 1 / in^2.
+     * @param zeta How much to damp it, from 0 to 1.
+     */
+    public RamseteFollower(ReferencePath path, double trackLength, double b, double zeta) {
+        this.path = path;
+        this.trackLength = trackLength;
+        this.b = b;
+        this.zeta = zeta;
+    }
+
+    /**
+     * Constructor, with the usual gains.
+     */
+    public RamseteFollower(ReferencePath path, double trackLength) {
+        this(path, trackLength, DEFAULT_B, DEFAULT_ZETA);
+    }
+
+    @Override
+    public void command(double x, double y, double angle, double[] wheels) {
+        this.index = this.path.advance(this.index, x, y);
+        int i = this.index;
+        double fraction = Math.max(0.0, Math.min(1.0, this.path.fraction(i, x, y)));
+        double referenceX = ReferencePath.lerp(this.path.x, i, fraction);
+        double referenceY = ReferencePath.lerp(this.path.y, i, fraction);
+        double referenceHeading = this.path.heading[i] + fraction * ReferencePath.wrap(this.path.heading[i + 1] - this.path.heading[i]);
+        double referenceVelocity = ReferencePath.lerp(this.path.velocity, i, fraction);
+        double referenceOmega = referenceVelocity * ReferencePath.lerp(this.path.curvature, i, fraction);
+
+        double heading = Math.toRadians(angle);
+        double cos = Math.cos(heading);
+        double sin = Math.sin(heading);
+        double dx = referenceX - x;
+        double dy = referenceY - y;
+        double errorX = cos * dx + sin * dy;
+        double errorY = -sin * dx + cos * dy;
+        double errorHeading = ReferencePath.wrap(referenceHeading - heading);
+
+        double k = 2.0 * this.zeta * Math.sqrt(referenceOmega * referenceOmega + this.b * referenceVelocity * referenceVelocity);
+        double sinc = Math.abs(errorHeading) < 1e-9 ? 1.0 : Math.sin(errorHeading) / errorHeading;
+        double v = referenceVelocity * Math.cos(errorHeading) + k * errorX;
+        double omega = referenceOmega + k * errorHeading + this.b * referenceVelocity * sinc * errorY;
+
+        // Counterclockwise is positive, so the right side goes faster to turn left.
+        wheels[LEFT] = v - 0.5 * omega * this.trackLength;
+        wheels[RIGHT] = v + 0.5 * omega * this.trackLength;
+    }
+
+    @Override
+    public void reset() {
+        this.index = 0;
+    }
+}
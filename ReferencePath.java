@@ -0,0 +1,120 @@
+import java.lang.Math;
+
+/**
+ * <h1> ReferencePath </h1>
+ *
+ * A path with everything a tracking controller needs worked out ahead of time for every point:
+ * heading, signed curvature, and the target velocity and acceleration from the generator's motion profile.
+ * {@code RamseteFollower} and {@code FeedforwardFollower} both run off this, so they follow the same profile
+ * as pure pursuit does.
+ *
+ * Headings are in radians, counterclockwise from the x axis, and curvature is positive for left turns.
+ * Each heading is the direction of the segment to the next point (the last point reuses the one before it).
+ *
+ * <b> UNITS ARE IN INCHES. </b>
+ *
+ * @since 2026-10-19
+ */
+public final class ReferencePath {
+    public final int length;
+    public final double[] x;
+    public final double[] y;
+    public final double[] heading;
+    public final double[] curvature;
+    public final double[] velocity;
+    public final double[] acceleration;
+
+    /**
+     * Pulls the points and target velocities out of a generator. Works with compact paths too.
+     *
+     * @param generator The generator, which already has its velocities worked out.
+     */
+    public ReferencePath(PathGenerator generator) {
+        this.length = generator.pointCount();
+        this.x = new double[this.length];
+        this.y = new double[this.length];
+        this.heading = new double[this.length];
+        this.curvature = new double[this.length];
+        this.velocity = new double[this.length];
+        this.acceleration = new double[this.length];
+        for(int i = 0; i < this.length; ++i) {
+            this.x[i] = generator.pointX(i);
+            this.y[i] = generator.pointY(i);
+            this.velocity[i] = generator.targetVelocity(i);
+        }
+
+        for(int i = 0; i < this.length - 1; ++i) {
+            this.heading[i] = Math.atan2(this.y[i + 1] - this.y[i], this.x[i + 1] - this.x[i]);
+            // v^2 = v0^2 + 2as, so a = (v1^2 - v0^2) / 2s
+            double distance = PathGenerator.Magnitude(this.x[i], this.y[i], this.x[i + 1], this.y[i + 1]);
+            if(distance > 0.0) {
+                this.acceleration[i] = (this.velocity[i + 1] * this.velocity[i + 1] - this.velocity[i] * this.velocity[i]) / (2.0 * distance);
+            }
+        }
+        if(this.length > 1) {
+            this.heading[this.length - 1] = this.heading[this.length - 2];
+        }
+
+        // Signed curvature of the circle through each point and its neighbors. The ends are straight.
+        for(int i = 1; i < this.length - 1; ++i) {
+            double ax = this.x[i] - this.x[i - 1];
+            double ay = this.y[i] - this.y[i - 1];
+            double bx = this.x[i + 1] - this.x[i];
+            double by = this.y[i + 1] - this.y[i];
+            double denominator = Math.hypot(ax, ay) * Math.hypot(bx, by) * PathGenerator.Magnitude(this.x[i - 1], this.y[i - 1], this.x[i + 1], this.y[i + 1]);
+            if(denominator > 0.0) {
+                this.curvature[i] = 2.0 * (ax * by - ay * bx) / denominator;
+            }
+        }
+    }
+
+    /**
+     * Finds the segment the robot is next to. Only ever moves forward, and never lands on the last point,
+     * so {@code index + 1} is always a real point.
+     *
+     * @param index The segment the robot was next to last time.
+     * @param x The robot's x.
+     * @param y The robot's y.
+     *
+     * @return The segment the robot is next to now.
+     */
+    public int advance(int index, double x, double y) {
+        while(index < this.length - 2 && fraction(index, x, y) >= 1.0) {
+            index++;
+        }
+
+        return index;
+    }
+
+    /**
+     * @param index The segment.
+     * @param x The robot's x.
+     * @param y The robot's y.
+     *
+     * @return How far along the segment the robot is, from 0 to 1. Not clamped, so anything past the end is more than 1.
+     */
+    public double fraction(int index, double x, double y) {
+        double dx = this.x[index + 1] - this.x[index];
+        double dy = this.y[index + 1] - this.y[index];
+        double squared = dx * dx + dy * dy;
+        if(squared == 0.0) {
+            return 1.0;
+        }
+
+        return ((x - this.x[index]) * dx + (y - this.y[index]) * dy) / squared;
+    }
+
+    /**
+     * Linear interpolation between a point's value and the next one's.
+     */
+    public static double lerp(double[] values, int index, double fraction) {
+        return values[index] + fraction * (values[index + 1] - values[index]);
+    }
+
+    /**
+     * Wraps an angle, in radians, to between -pi and pi.
+     */
+    public static double wrap(double angle) {
+        return Math.IEEEremainder(angle, 2.0 * Math.PI);
+    }
+}
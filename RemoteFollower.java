@@ -0,0 +1,182 @@
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <h1> RemoteFollower </h1>
+ *
+ * Runs the pure pursuit follower against a robot in another process (see {@link RobotStandIn}), through a {@link SetpointTransport}.
+ * Every tick it sends wheel velocity setpoints, waits for the pose that comes back, and records the round trip time.
+ * Since the follower only ever sees poses that made it back, the controller gets tested with the real communication delay.
+ *
+ * <b> UNITS ARE IN INCHES. </b>
+ *
+ * @since 2026-10-19
+ */
+public class RemoteFollower {
+    public long timeoutNanos;
+    public double goalRadius;
+    public int maxTicks;
+    // Has to match the robot's.
+    public double trackLength;
+
+    public long[] roundTripNanos;
+    public int ticks;
+    public int timeouts;
+    public boolean reachedGoal;
+    public double[] pose;
+
+    /**
+     * Constructor.
+     *
+     * @param maxTicks The most ticks to run.
+     * @param trackLength Width of the drivetrain on the other side.
+     */
+    public RemoteFollower(int maxTicks, double trackLength) {
+        this.maxTicks = maxTicks;
+        this.trackLength = trackLength;
+        this.timeoutNanos = 100_000_000L;
+        this.goalRadius = 1.0;
+        this.roundTripNanos = new long[maxTicks];
+        this.pose = new double[3];
+    }
+
+    /**
+     * Follows the path. The robot on the other side has to start at (0, 0) facing 0 degrees, like {@code Main}.
+     *
+     * @param generator The path generator.
+     * @param transport How to talk to the robot.
+     */
+    public void follow(PathGenerator generator, SetpointTransport transport) {
+        SetpointTransport.Message message = new SetpointTransport.Message();
+        int last = generator.pointCount() - 1;
+        double goalX = generator.pointX(last);
+        double goalY = generator.pointY(last);
+        this.ticks = 0;
+        this.timeouts = 0;
+        this.reachedGoal = false;
+        Arrays.fill(this.pose, 0.0);
+
+        // Say hi with a zero setpoint until the robot answers, since it might still be starting up.
+        int attempts = 0;
+        while(!exchange(transport, message, -1, 0.0, 0.0)) {
+            if(++attempts > 100) {
+                throw new IllegalStateException("The robot never answered.");
+            }
+        }
+
+        for(int i = 0; i < this.maxTicks; ++i) {
+            generator.updatePos(this.pose[0], this.pose[1], this.pose[2]);
+            double left = generator.velocity(this.trackLength, true);
+            double right = generator.velocity(this.trackLength, false);
+            if(!exchange(transport, message, i, left, right)) {
+                this.timeouts++;
+                continue;
+            }
+            this.roundTripNanos[this.ticks++] = System.nanoTime() - message.timestamp;
+
+            if(PathGenerator.Magnitude(goalX, goalY, this.pose[0], this.pose[1]) <= this.goalRadius) {
+                this.reachedGoal = true;
+                break;
+            }
+        }
+
+        transport.send(message.set(SetpointTransport.STOP, 0, System.nanoTime(), 0.0, 0.0, 0.0));
+    }
+
+    /**
+     * Sends one setpoint and waits for its pose. Late replies to older setpoints get thrown away.
+     *
+     * @return False if the pose didn't come back in time.
+     */
+    private boolean exchange(SetpointTransport transport, SetpointTransport.Message message, int sequence, double left, double right) {
+        transport.send(message.set(SetpointTransport.SETPOINT, sequence, System.nanoTime(), left, right, 0.0));
+        long deadline = System.nanoTime() + this.timeoutNanos;
+        long remaining = this.timeoutNanos;
+        while(remaining > 0) {
+            if(!transport.receive(message, remaining)) {
+                return false;
+            }
+            if(message.type == SetpointTransport.POSE && message.sequence == sequence) {
+                this.pose[0] = message.values[0];
+                this.pose[1] = message.values[1];
+                this.pose[2] = message.values[2];
+                return true;
+            }
+            remaining = deadline - System.nanoTime();
+        }
+
+        return false;
+    }
+
+    /**
+     * @param percentile From 0 to 100.
+     *
+     * @return That percentile of the round trip times, in nanoseconds.
+     */
+    public long roundTripPercentile(double percentile) {
+        if(this.ticks == 0) {
+            return 0L;
+        }
+        long[] sorted = Arrays.copyOf(this.roundTripNanos, this.ticks);
+        Arrays.sort(sorted);
+
+        return sorted[(int) Math.min(this.ticks - 1, Math.floor(percentile / 100.0 * this.ticks))];
+    }
+
+    /**
+     * Starts a {@link RobotStandIn} process and follows the test path from {@code Main} through it.
+     *
+     * <pre>
+     * java RemoteFollower udp [extraDelayMs]
+     * java RemoteFollower shm [file] [extraDelayMs]
+     * </pre>
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        boolean udp = args.length == 0 || args[0].equals("udp");
+        String[] followerArgs;
+        List<String> robotArgs = new ArrayList<String>();
+        robotArgs.add(new File(System.getProperty("java.home"), "bin/java").getPath());
+        robotArgs.add("-cp");
+        robotArgs.add(System.getProperty("java.class.path"));
+        robotArgs.add("RobotStandIn");
+        String delay;
+        if(udp) {
+            // 5800-5810 are the ports FRC lets teams use.
+            followerArgs = new String[] {"udp", "5800", "5801"};
+            robotArgs.addAll(Arrays.asList("udp", "5801", "5800"));
+            delay = args.length > 1 ? args[1] : "0";
+        } else {
+            String file = args.length > 1 ? args[1] : "/dev/shm/motion-profile-sim";
+            followerArgs = new String[] {"shm", file};
+            robotArgs.addAll(Arrays.asList("shm", file));
+            delay = args.length > 2 ? args[2] : "0";
+        }
+        robotArgs.addAll(Arrays.asList("0.02", "34.0", delay));
+
+        Spline spline = new Spline(new double[][] {
+            {0.0, 0.0},
+            {1.0, 1.0},
+            {0.0, 0.0},
+        }, new double[][] {
+            {100.0, 100.0},
+            {0.0, 0.0},
+            {0.0, 0.0},
+        });
+        PathGenerator generator = new PathGenerator(spline.interpolateEven(0.00001, 6.0), 10.0, 2.0, 12.0);
+        RemoteFollower follower = new RemoteFollower(5000, 34.0);
+
+        try(SetpointTransport transport = RobotStandIn.open(followerArgs, false, true)) {
+            Process robot = new ProcessBuilder(robotArgs).inheritIO().start();
+            follower.follow(generator, transport);
+            robot.waitFor();
+        }
+
+        System.out.println("Robot position and angle: (" + follower.pose[0] + ", " + follower.pose[1] + ") at " + follower.pose[2]);
+        System.out.println("Ticks: " + follower.ticks + ", timeouts: " + follower.timeouts + ", reached goal: " + follower.reachedGoal);
+        System.out.println("Round trip p50/p99/max: " + follower.roundTripPercentile(50.0) / 1e3 + "/" + follower.roundTripPercentile(99.0) / 1e3
+            + "/" + follower.roundTripPercentile(100.0) / 1e3 + " us");
+    }
+}
@@ -5,6 +5,8 @@ public class Robot {
     public double robotAngle;
     public double timeInterval;
     public double trackLength;
+    // tankDrive works in here instead of making new vectors every tick.
+    private final double[][] scratch;
 
     /**
      * Constructor.
@@ -18,6 +20,34 @@ public class Robot {
         this.robotAngle = 0.0;
         this.timeInterval = time;
         this.trackLength = trackLength;
+        this.scratch = new double[1][2];
+    }
+
+    /**
+     * Puts the robot somewhere else, for another run, without making a new one.
+     * 
+     * @param x The new x coordinate.
+     * @param y The new y coordinate.
+     * @param angle The new angle, in degrees.
+     * @param time Refresh rate of the RoboRIO.
+     * @param trackLength Width of the drivetrain.
+     */
+    public void reset(double x, double y, double angle, double time, double trackLength) {
+        this.robotPos[0][0] = x;
+        this.robotPos[0][1] = y;
+        this.robotAngle = angle;
+        this.timeInterval = time;
+        this.trackLength = trackLength;
+    }
+
+    /**
+     * Makes a copy of another robot, at the same position and angle.
+     * 
+     * @param other The robot to copy.
+     */
+    public Robot(Robot other) {
+        this(new double[][] {{other.robotPos[0][0], other.robotPos[0][1]}}, other.timeInterval, other.trackLength);
+        this.robotAngle = other.robotAngle;
     }
 
     /**
@@ -39,7 +69,7 @@ public class Robot {
         }
     }
 
-    // TODO Add rotational inertia to this. HELP DOUBLE INTEGRATION IS HARD.
+    // This assumes the velocity PID is perfect. For motors, mass and rotational inertia use DrivetrainModel.tankDrive(robot, l, r) instead.
     /**
      * Tank drive. This is the same way you drive remote control cars--one side controls the velocity of the left wheels, and the other side controls the velocity of the rigth wheels.
      * Uses the physics of uniform circular motion. 
@@ -48,6 +78,7 @@ public class Robot {
      * @param rVelocity Velocity of the right wheels (motor control group).
      */
     public void tankDrive(double lVelocity, double rVelocity) {
+        SimMetrics.TICKS.increment();
         // // System.out.println("Left = Right? " + (lVelocity == rVelocity));
         if(lVelocity == rVelocity) {
             this.robotPos[0][0] += lVelocity * Math.cos(Math.toRadians(this.robotAngle)) * this.timeInterval;
@@ -56,13 +87,11 @@ public class Robot {
             if(lVelocity >= 0) {
                 if(rVelocity >= 0) {
                     double exradius = 0.5 * this.trackLength + rVelocity * this.trackLength / (lVelocity - rVelocity);
-                    double[][] projectedVector = new double[][] {
-                        {exradius * Math.cos(Math.toRadians(this.robotAngle)), exradius * Math.sin(Math.toRadians(this.robotAngle))}
-                    };
+                    double[][] projectedVector = vector(exradius * Math.cos(Math.toRadians(this.robotAngle)), exradius * Math.sin(Math.toRadians(this.robotAngle)));
                     // System.out.println("Projected vector: (" + projectedVector[0][0] + "," + projectedVector[0][1] + ")");
                     double angularVelocity = (lVelocity - rVelocity) / this.trackLength;
                     // System.out.println("Angular velocity: " + angularVelocity + " rad/s");
-                    projectedVector = rotate(projectedVector, -90.0, false);
+                    projectedVector = rotate(projectedVector, -90.0, false, projectedVector);
                     // System.out.println("Projected vector: (" + projectedVector[0][0] + "," + projectedVector[0][1] + ")");
                     this.robotPos[0][0] += projectedVector[0][0];
                     this.robotPos[0][1] += projectedVector[0][1];
@@ -71,7 +100,7 @@ public class Robot {
                     projectedVector[0][1] = -1.0 * projectedVector[0][1];
                     // System.out.println("Projected vector: (" + projectedVector[0][0] + "," + projectedVector[0][1] + ")");
                     // System.out.println("Angular displacement: " + -1.0 * angularVelocity * this.timeInterval);
-                    projectedVector = rotate(projectedVector, -1.0 * angularVelocity * this.timeInterval, true);
+                    projectedVector = rotate(projectedVector, -1.0 * angularVelocity * this.timeInterval, true, projectedVector);
                     // System.out.println("Projected vector: (" + projectedVector[0][0] + "," + projectedVector[0][1] + ")");
                     this.robotPos[0][0] += projectedVector[0][0];
                     this.robotPos[0][1] += projectedVector[0][1];
@@ -82,12 +111,10 @@ public class Robot {
                     }
                 } else {
                     double inradius = 0.5 * this.trackLength + rVelocity * this.trackLength / (lVelocity - rVelocity);
-                    double[][] projectedVector = new double[][] {
-                        {inradius * Math.cos(Math.toRadians(this.robotAngle)), inradius * Math.sin(Math.toRadians(this.robotAngle))}
-                    };
+                    double[][] projectedVector = vector(inradius * Math.cos(Math.toRadians(this.robotAngle)), inradius * Math.sin(Math.toRadians(this.robotAngle)));
                     double angularVelocity = (lVelocity - rVelocity) / this.trackLength; 
                     // System.out.println("Angular velocity: " + angularVelocity + " rad/s");
-                    projectedVector = rotate(projectedVector, -90.0, false);
+                    projectedVector = rotate(projectedVector, -90.0, false, projectedVector);
                     // System.out.println("Projected vector: (" + projectedVector[0][0] + "," + projectedVector[0][1] + ")");
                     this.robotPos[0][0] += projectedVector[0][0];
                     this.robotPos[0][1] += projectedVector[0][1];
@@ -96,7 +123,7 @@ public class Robot {
                     projectedVector[0][1] = -1.0 * projectedVector[0][1];
                     // System.out.println("Projected vector: (" + projectedVector[0][0] + "," + projectedVector[0][1] + ")");
                     // System.out.println("Angular displacement: " + angularVelocity * this.timeInterval);
-                    projectedVector = rotate(projectedVector, angularVelocity * this.timeInterval, true);
+                    projectedVector = rotate(projectedVector, angularVelocity * this.timeInterval, true, projectedVector);
                     // System.out.println("Projected vector: (" + projectedVector[0][0] + "," + projectedVector[0][1] + ")");
                     this.robotPos[0][0] += projectedVector[0][0];
                     this.robotPos[0][1] += projectedVector[0][1];
@@ -109,12 +136,10 @@ public class Robot {
             } else {
                 if(rVelocity >= 0) {
                     double inradius = 0.5 * this.trackLength + rVelocity * this.trackLength / (lVelocity - rVelocity);
-                    double[][] projectedVector = new double[][] {
-                        {inradius * Math.cos(Math.toRadians(this.robotAngle)), inradius * Math.sin(Math.toRadians(this.robotAngle))}
-                    };
+                    double[][] projectedVector = vector(inradius * Math.cos(Math.toRadians(this.robotAngle)), inradius * Math.sin(Math.toRadians(this.robotAngle)));
                     double angularVelocity = (rVelocity - lVelocity) / this.trackLength;
                     // System.out.println("Angular velocity: " + angularVelocity + " rad/s");
-                    projectedVector = rotate(projectedVector, 90.0, false);
+                    projectedVector = rotate(projectedVector, 90.0, false, projectedVector);
                     // System.out.println("Projected vector: (" + projectedVector[0][0] + "," + projectedVector[0][1] + ")");
                     this.robotPos[0][0] += projectedVector[0][0];
                     this.robotPos[0][1] += projectedVector[0][1];
@@ -123,7 +148,7 @@ public class Robot {
                     projectedVector[0][1] = -1.0 * projectedVector[0][1];
                     // System.out.println("Projected vector: (" + projectedVector[0][0] + "," + projectedVector[0][1] + ")");
                     // System.out.println("Angular displacement: " + -1.0 * angularVelocity * this.timeInterval);
-                    projectedVector = rotate(projectedVector, -1.0 * angularVelocity * this.timeInterval, true);
+                    projectedVector = rotate(projectedVector, -1.0 * angularVelocity * this.timeInterval, true, projectedVector);
                     // System.out.println("Projected vector: (" + projectedVector[0][0] + "," + projectedVector[0][1] + ")");
                     this.robotPos[0][0] += projectedVector[0][0];
                     this.robotPos[0][1] += projectedVector[0][1];
@@ -134,12 +159,10 @@ public class Robot {
                     }
                 } else {
                     double exradius = 0.5 * this.trackLength + rVelocity * this.trackLength / (lVelocity - rVelocity);
-                    double[][] projectedVector = new double[][] {
-                        {exradius * Math.cos(Math.toRadians(this.robotAngle)), exradius * Math.sin(Math.toRadians(this.robotAngle))}
-                    };
+                    double[][] projectedVector = vector(exradius * Math.cos(Math.toRadians(this.robotAngle)), exradius * Math.sin(Math.toRadians(this.robotAngle)));
                     double angularVelocity = (lVelocity - rVelocity) / this.trackLength;
                     // System.out.println("Angular velocity: " + angularVelocity + " rad/s");
-                    projectedVector = rotate(projectedVector, 90.0, false);
+                    projectedVector = rotate(projectedVector, 90.0, false, projectedVector);
                     // System.out.println("Projected vector: (" + projectedVector[0][0] + "," + projectedVector[0][1] + ")");
                     this.robotPos[0][0] += projectedVector[0][0];
                     this.robotPos[0][1] += projectedVector[0][1];
@@ -148,7 +171,7 @@ public class Robot {
                     projectedVector[0][1] = -1.0 * projectedVector[0][1];
                     // System.out.println("Projected vector: (" + projectedVector[0][0] + "," + projectedVector[0][1] + ")");
                     // System.out.println("Angular displacement: " + angularVelocity * this.timeInterval);
-                    projectedVector = rotate(projectedVector, angularVelocity * this.timeInterval, true);
+                    projectedVector = rotate(projectedVector, angularVelocity * this.timeInterval, true, projectedVector);
                     // System.out.println("Projected vector: (" + projectedVector[0][0] + "," + projectedVector[0][1] + ")");
                     this.robotPos[0][0] += projectedVector[0][0];
                     this.robotPos[0][1] += projectedVector[0][1];
@@ -163,12 +186,10 @@ public class Robot {
             if(rVelocity >= 0) {
                 if(lVelocity >= 0) {
                     double exradius = 0.5 * this.trackLength + this.trackLength * lVelocity / (rVelocity - lVelocity);
-                    double[][] projectedVector = new double[][] {
-                        {exradius * Math.cos(Math.toRadians(this.robotAngle)), exradius * Math.sin(Math.toRadians(this.robotAngle))}
-                    };
+                    double[][] projectedVector = vector(exradius * Math.cos(Math.toRadians(this.robotAngle)), exradius * Math.sin(Math.toRadians(this.robotAngle)));
                     double angularVelocity = (rVelocity - lVelocity) / this.trackLength;
                     // System.out.println("Angular velocity: " + angularVelocity + " rad/s");
-                    projectedVector = rotate(projectedVector, 90.0, false);
+                    projectedVector = rotate(projectedVector, 90.0, false, projectedVector);
                     // System.out.println("Projected vector: (" + projectedVector[0][0] + "," + projectedVector[0][1] + ")");
                     this.robotPos[0][0] += projectedVector[0][0];
                     this.robotPos[0][1] += projectedVector[0][1];
@@ -177,7 +198,7 @@ public class Robot {
                     projectedVector[0][1] = -1.0 * projectedVector[0][1];
                     // System.out.println("Projected vector: (" + projectedVector[0][0] + "," + projectedVector[0][1] + ")");
                     // System.out.println("Angular displacement: " + angularVelocity * this.timeInterval);
-                    projectedVector = rotate(projectedVector, angularVelocity * this.timeInterval, true);
+                    projectedVector = rotate(projectedVector, angularVelocity * this.timeInterval, true, projectedVector);
                     // System.out.println("Projected vector: (" + projectedVector[0][0] + "," + projectedVector[0][1] + ")");
                     this.robotPos[0][0] += projectedVector[0][0];
                     this.robotPos[0][1] += projectedVector[0][1];
@@ -188,12 +209,10 @@ public class Robot {
                     }
                 } else {
                     double inradius = 0.5 * this.trackLength - this.trackLength * lVelocity / (rVelocity - lVelocity);
-                    double[][] projectedVector = new double[][] {
-                        {inradius * Math.cos(Math.toRadians(this.robotAngle)), inradius * Math.sin(Math.toRadians(this.robotAngle))}
-                    }; 
+                    double[][] projectedVector = vector(inradius * Math.cos(Math.toRadians(this.robotAngle)), inradius * Math.sin(Math.toRadians(this.robotAngle))); 
                     double angularVelocity = (rVelocity - lVelocity) / this.trackLength;
                     // System.out.println("Angular velocity: " + angularVelocity + " rad/s");
-                    projectedVector = rotate(projectedVector, 90.0, false);
+                    projectedVector = rotate(projectedVector, 90.0, false, projectedVector);
                     // System.out.println("Projected vector: (" + projectedVector[0][0] + "," + projectedVector[0][1] + ")");
                     this.robotPos[0][0] += projectedVector[0][0];
                     this.robotPos[0][1] += projectedVector[0][1];
@@ -202,7 +221,7 @@ public class Robot {
                     projectedVector[0][1] = -1.0 * projectedVector[0][1];
                     // System.out.println("Projected vector: (" + projectedVector[0][0] + "," + projectedVector[0][1] + ")");
                     // System.out.println("Angular displacement: " +  angularVelocity * this.timeInterval);
-                    projectedVector = rotate(projectedVector,  angularVelocity * this.timeInterval, true);
+                    projectedVector = rotate(projectedVector,  angularVelocity * this.timeInterval, true, projectedVector);
                     // System.out.println("Projected vector: (" + projectedVector[0][0] + "," + projectedVector[0][1] + ")");
                     this.robotPos[0][0] += projectedVector[0][0];
                     this.robotPos[0][1] += projectedVector[0][1];
@@ -215,12 +234,10 @@ public class Robot {
             } else {
                 if(lVelocity >= 0) {
                     double inradius = 0.5 * this.trackLength + lVelocity * this.trackLength / (lVelocity - rVelocity);
-                    double[][] projectedVector = new double[][] {
-                        {inradius * Math.cos(Math.toRadians(this.robotAngle)), inradius * Math.sin(Math.toRadians(this.robotAngle))}
-                    }; 
+                    double[][] projectedVector = vector(inradius * Math.cos(Math.toRadians(this.robotAngle)), inradius * Math.sin(Math.toRadians(this.robotAngle))); 
                     double angularVelocity = (lVelocity - rVelocity) / this.trackLength;
                     // System.out.println("Angular velocity: " + angularVelocity + " rad/s");
-                    projectedVector = rotate(projectedVector, -90.0, false);
+                    projectedVector = rotate(projectedVector, -90.0, false, projectedVector);
                     // System.out.println("Projected vector: (" + projectedVector[0][0] + "," + projectedVector[0][1] + ")");
                     this.robotPos[0][0] += projectedVector[0][0];
                     this.robotPos[0][1] += projectedVector[0][1];
@@ -229,7 +246,7 @@ public class Robot {
                     projectedVector[0][1] = -1.0 * projectedVector[0][1];
                     // System.out.println("Projected vector: (" + projectedVector[0][0] + "," + projectedVector[0][1] + ")");
                     // System.out.println("Angular displacement: " + -1.0 * angularVelocity * this.timeInterval);
-                    projectedVector = rotate(projectedVector, -1.0 * angularVelocity * this.timeInterval, true);
+                    projectedVector = rotate(projectedVector, -1.0 * angularVelocity * this.timeInterval, true, projectedVector);
                     // System.out.println("Projected vector: (" + projectedVector[0][0] + "," + projectedVector[0][1] + ")");
                     this.robotPos[0][0] += projectedVector[0][0];
                     this.robotPos[0][1] += projectedVector[0][1];
@@ -240,12 +257,10 @@ public class Robot {
                     }
                 } else {
                     double exradius = 0.5 * this.trackLength + this.trackLength * lVelocity / (rVelocity - lVelocity);
-                    double[][] projectedVector = new double[][] {
-                        {exradius * Math.cos(Math.toRadians(this.robotAngle)), exradius * Math.sin(Math.toRadians(this.robotAngle))}
-                    };
+                    double[][] projectedVector = vector(exradius * Math.cos(Math.toRadians(this.robotAngle)), exradius * Math.sin(Math.toRadians(this.robotAngle)));
                     double angularVelocity = (rVelocity - lVelocity) / this.trackLength;
                     // System.out.println("Angular velocity: " + angularVelocity + " rad/s");
-                    projectedVector = rotate(projectedVector, 90.0, false);
+                    projectedVector = rotate(projectedVector, 90.0, false, projectedVector);
                     // System.out.println("Projected vector: (" + projectedVector[0][0] + "," + projectedVector[0][1] + ")");
                     this.robotPos[0][0] += projectedVector[0][0];
                     this.robotPos[0][1] += projectedVector[0][1];
@@ -254,7 +269,7 @@ public class Robot {
                     projectedVector[0][1] = -1.0 * projectedVector[0][1];
                     // System.out.println("Projected vector: (" + projectedVector[0][0] + "," + projectedVector[0][1] + ")");
                     // System.out.println("Angular displacement: " + -1.0 * angularVelocity * this.timeInterval);
-                    projectedVector = rotate(projectedVector, -1.0 * angularVelocity * this.timeInterval, true);
+                    projectedVector = rotate(projectedVector, -1.0 * angularVelocity * this.timeInterval, true, projectedVector);
                     // System.out.println("Projected vector: (" + projectedVector[0][0] + "," + projectedVector[0][1] + ")");
                     this.robotPos[0][0] += projectedVector[0][0];
                     this.robotPos[0][1] += projectedVector[0][1];
@@ -295,13 +310,36 @@ public class Robot {
      * @param angle The angle, in degrees, to rotate it by.
      */
     public double[][] rotate(double[][] vector, double angle, Boolean radians) {
+        return rotate(vector, angle, radians, new double[1][2]);
+    }
+
+    /**
+     * Same as the other {@code rotate}, but puts the answer in an array you already have. It can be the same one as {@code vector}.
+     * 
+     * @param vector The vector, in (x, y), to rotate.
+     * @param angle The angle, in degrees, to rotate it by.
+     * @param result Where the rotated vector goes.
+     * 
+     * @return {@code result}.
+     */
+    public double[][] rotate(double[][] vector, double angle, Boolean radians, double[][] result) {
         if(radians) {
             angle = Math.toDegrees(angle);
         }
-        double[][] result = new double[][] {
-            {vector[0][0] * Math.cos(Math.toRadians(angle)) - vector[0][1] * Math.sin(Math.toRadians(angle)), vector[0][0] * Math.sin(Math.toRadians(angle)) + vector[0][1] * Math.cos(Math.toRadians(angle))}
-        };
+        double cos = Math.cos(Math.toRadians(angle));
+        double sin = Math.sin(Math.toRadians(angle));
+        double x = vector[0][0];
+        double y = vector[0][1];
+        result[0][0] = x * cos - y * sin;
+        result[0][1] = x * sin + y * cos;
 
         return result;
     }
+
+    private double[][] vector(double x, double y) {
+        this.scratch[0][0] = x;
+        this.scratch[0][1] = y;
+
+        return this.scratch;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+import java.nio.file.Paths;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <h1> RobotStandIn </h1>
+ *
+ * Pretends to be the robot, in its own process. It waits for wheel velocity setpoints from a {@link RemoteFollower},
+ * drives a {@code Robot} one tick with each one, and sends the new pose back. The pose goes back with the setpoint's
+ * timestamp, so the follower can work out the round trip time.
+ *
+ * <pre>
+ * java RobotStandIn udp [localPort] [remotePort] [timeInterval] [trackLength] [extraDelayMs]
+ * java RobotStandIn shm [file] [timeInterval] [trackLength] [extraDelayMs]
+ * </pre>
+ *
+ * {@code extraDelayMs} holds every reply back a bit longer, to pretend the network is worse than loopback.
+ *
+ * @since 2026-10-19
+ */
+public class RobotStandIn {
+    // How long to wait for the follower before deciding it's gone.
+    public static final long IDLE_TIMEOUT_NANOS = 10_000_000_000L;
+
+    public static void main(String[] args) {
+        boolean udp = args[0].equals("udp");
+        int next = udp ? 3 : 2;
+        double timeInterval = Double.parseDouble(args[next]);
+        double trackLength = Double.parseDouble(args[next + 1]);
+        long delayNanos = args.length > next + 2 ? (long) (Double.parseDouble(args[next + 2]) * 1e6) : 0L;
+
+        Robot robot = new Robot(new double[][] {{0.0, 0.0}}, timeInterval, trackLength);
+        try(SetpointTransport transport = open(args, true, false)) {
+            serve(robot, transport, delayNanos);
+        }
+    }
+
+    /**
+     * Answers setpoints until the follower says stop or goes quiet.
+     *
+     * @param robot The robot to drive.
+     * @param transport How to talk to the follower.
+     * @param delayNanos Extra delay before every reply.
+     */
+    public static void serve(Robot robot, SetpointTransport transport, long delayNanos) {
+        SetpointTransport.Message message = new SetpointTransport.Message();
+        while(transport.receive(message, IDLE_TIMEOUT_NANOS)) {
+            if(message.type == SetpointTransport.STOP) {
+                break;
+            }
+            if(message.type != SetpointTransport.SETPOINT) {
+                continue;
+            }
+            if(delayNanos > 0) {
+                LockSupport.parkNanos(delayNanos);
+            }
+            robot.tankDrive(message.values[0], message.values[1]);
+            transport.send(message.set(SetpointTransport.POSE, message.sequence, message.timestamp, robot.robotPos[0][0], robot.robotPos[0][1], robot.robotAngle));
+        }
+    }
+
+    /**
+     * Opens a transport from command line arguments, either {@code udp [localPort] [remotePort]} or {@code shm [file]}.
+     * The robot side passes its own ports, so the follower's local port is the robot's remote port.
+     *
+     * @param args The arguments.
+     * @param robotSide True for the robot stand-in.
+     * @param create True if this side should create the shared memory file.
+     *
+     * @return The transport.
+     */
+    public static SetpointTransport open(String[] args, boolean robotSide, boolean create) {
+        if(args[0].equals("udp")) {
+            return new UdpSetpointTransport(Integer.parseInt(args[1]), Integer.parseInt(args[2]));
+        } else if(args[0].equals("shm")) {
+            return new SharedMemorySetpointTransport(Paths.get(args[1]), robotSide, create);
+        }
+        throw new IllegalArgumentException("Transport has to be udp or shm, not " + args[0]);
+    }
+}
@@ -0,0 +1,91 @@
+import java.nio.ByteBuffer;
+
+/**
+ * <h1> SetpointTransport </h1>
+ *
+ * Sends poses and wheel velocity setpoints between the path follower and a robot (or a stand-in for one)
+ * running in another process, the same way they're separate on the field.
+ *
+ * Every message has the same fixed 40 byte layout, big-endian:
+ * <pre>
+ *  0  int    type (POSE, SETPOINT or STOP)
+ *  4  int    sequence number
+ *  8  long   timestamp, System.nanoTime() of whoever started the round trip
+ * 16  double value 0 (x or left velocity)
+ * 24  double value 1 (y or right velocity)
+ * 32  double value 2 (angle, unused for setpoints)
+ * </pre>
+ *
+ * @since 2026-10-19
+ */
+public interface SetpointTransport extends AutoCloseable {
+    int POSE = 1;
+    int SETPOINT = 2;
+    int STOP = 3;
+    int MESSAGE_SIZE = 40;
+
+    /**
+     * One message. Reuse these instead of making new ones every tick.
+     */
+    class Message {
+        public int type;
+        public int sequence;
+        public long timestamp;
+        public final double[] values = new double[3];
+
+        public Message set(int type, int sequence, long timestamp, double value0, double value1, double value2) {
+            this.type = type;
+            this.sequence = sequence;
+            this.timestamp = timestamp;
+            this.values[0] = value0;
+            this.values[1] = value1;
+            this.values[2] = value2;
+
+            return this;
+        }
+
+        /**
+         * Writes the message at the buffer's position, in the layout above.
+         */
+        public void write(ByteBuffer buffer) {
+            buffer.putInt(this.type);
+            buffer.putInt(this.sequence);
+            buffer.putLong(this.timestamp);
+            buffer.putDouble(this.values[0]);
+            buffer.putDouble(this.values[1]);
+            buffer.putDouble(this.values[2]);
+        }
+
+        /**
+         * Reads the message from the buffer's position.
+         */
+        public void read(ByteBuffer buffer) {
+            this.type = buffer.getInt();
+            this.sequence = buffer.getInt();
+            this.timestamp = buffer.getLong();
+            this.values[0] = buffer.getDouble();
+            this.values[1] = buffer.getDouble();
+            this.values[2] = buffer.getDouble();
+        }
+    }
+
+    /**
+     * Sends a message.
+     *
+     * @param message The message.
+     */
+    void send(Message message);
+
+    /**
+     * Waits for the next message.
+     *
+     * @param message Gets filled in with what we received.
+     * @param timeoutNanos How long to wait.
+     *
+     * @return False if nothing showed up in time.
+     */
+    boolean receive(Message message, long timeoutNanos);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,113 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <h1> SharedMemorySetpointTransport </h1>
+ *
+ * {@link SetpointTransport} over a memory-mapped file, for when loopback UDP is too slow to tell what the controller is doing.
+ *
+ * The file has two rings, one for each direction. Each ring is a 64 byte header holding the head (how many messages have
+ * ever been written) and then {@code SLOTS} message slots. There's exactly one writer and one reader per ring, so the writer
+ * just fills in the slot and then publishes the new head with a release store, and the reader polls the head with an acquire load.
+ * If the reader falls more than {@code SLOTS} messages behind, the oldest ones are lost.
+ *
+ * @since 2026-10-19
+ */
+public class SharedMemorySetpointTransport implements SetpointTransport {
+    public static final int SLOTS = 64;
+    public static final int SPINS_BEFORE_YIELD = 1000;
+    private static final int HEADER_SIZE = 64;
+    private static final int RING_SIZE = HEADER_SIZE + SLOTS * MESSAGE_SIZE;
+    private static final VarHandle HEAD = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final FileChannel channel;
+    private final MappedByteBuffer memory;
+    private final ByteBuffer sendView;
+    private final ByteBuffer receiveView;
+    private final int sendRing;
+    private final int receiveRing;
+    private long sent;
+    private long received;
+    public long dropped;
+
+    /**
+     * Constructor. Whoever starts first should create the file, before the other process opens it.
+     *
+     * @param file The file to map. /dev/shm is a good place for it on Linux.
+     * @param robotSide True for the robot stand-in, false for the follower. The two sides use opposite rings.
+     * @param create True to zero the file out first.
+     */
+    public SharedMemorySetpointTransport(Path file, boolean robotSide, boolean create) {
+        try {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.memory = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, 2L * RING_SIZE);
+        } catch(IOException e) {
+            throw new UncheckedIOException("Couldn't map " + file, e);
+        }
+        if(create) {
+            for(int i = 0; i < 2 * RING_SIZE; ++i) {
+                this.memory.put(i, (byte) 0);
+            }
+            this.memory.force();
+        }
+        this.sendRing = robotSide ? RING_SIZE : 0;
+        this.receiveRing = robotSide ? 0 : RING_SIZE;
+        this.sendView = this.memory.duplicate();
+        this.receiveView = this.memory.duplicate();
+        this.sent = (long) HEAD.getAcquire(this.memory, this.sendRing);
+        this.received = 0L;
+    }
+
+    @Override
+    public void send(Message message) {
+        this.sendView.position(this.sendRing + HEADER_SIZE + (int) (this.sent % SLOTS) * MESSAGE_SIZE);
+        message.write(this.sendView);
+        this.sent++;
+        HEAD.setRelease(this.memory, this.sendRing, this.sent);
+    }
+
+    @Override
+    public boolean receive(Message message, long timeoutNanos) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        long head = (long) HEAD.getAcquire(this.memory, this.receiveRing);
+        int spins = 0;
+        while(head == this.received) {
+            if(System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            // Spin for a bit, then start giving the core away, in case the other process is waiting for it.
+            if(++spins < SPINS_BEFORE_YIELD) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+            head = (long) HEAD.getAcquire(this.memory, this.receiveRing);
+        }
+        if(head - this.received > SLOTS) {
+            this.dropped += head - this.received - SLOTS;
+            this.received = head - SLOTS;
+        }
+        this.receiveView.position(this.receiveRing + HEADER_SIZE + (int) (this.received % SLOTS) * MESSAGE_SIZE);
+        message.read(this.receiveView);
+        this.received++;
+
+        return true;
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.channel.close();
+        } catch(IOException e) {
+            throw new UncheckedIOException("Couldn't close the shared memory file.", e);
+        }
+    }
+}
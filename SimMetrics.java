@@ -0,0 +1,197 @@
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/**
+ * <h1> SimMetrics </h1>
+ *
+ * Counters for the simulator, so a sweep or a paced loop that's been going for hours can be checked on without
+ * attaching a profiler. Anything can bump them; {@code MetricsServer} serves them over HTTP in Prometheus text format.
+ *
+ * Counters and gauges are {@code LongAdder}s, so bumping one from a hot loop on a bunch of threads is a few
+ * nanoseconds and never contends. Nothing gets added up or formatted until someone scrapes. The JVM numbers
+ * (allocation and GC) aren't tracked at all, they're just read from the MX beans at scrape time.
+ *
+ * @since 2026-10-19
+ */
+public final class SimMetrics {
+    private static final List<Metric> REGISTRY = new CopyOnWriteArrayList<Metric>();
+
+    public static final Metric PATHS_GENERATED = counter("pursuit_paths_generated_total", "Motion profiles worked out by PathGenerator.");
+    public static final Metric ARC_LENGTH_EVALUATIONS = counter("pursuit_spline_arc_length_evaluations_total", "Calls to Spline.arcLength and Spline.adaptiveArcLength.");
+    public static final Metric CLOSEST_POINT_CALLS = counter("pursuit_closest_point_calls_total", "Calls to PathGenerator.closestPoint.");
+    public static final Metric CLOSEST_POINT_SCANNED = counter("pursuit_closest_point_scanned_points_total", "Path points looked at by PathGenerator.closestPoint. Divide by the calls for the average scan length.");
+    public static final Metric TICKS = counter("pursuit_ticks_simulated_total", "Robot moves, from Robot.tankDrive or DrivetrainModel.drive.");
+    public static final Metric PACED_TICKS = counter("pursuit_paced_ticks_total", "Ticks run by a PacedLoop.");
+    public static final Metric DEADLINE_MISSES = counter("pursuit_paced_deadline_misses_total", "PacedLoop ticks that finished after the next one was due.");
+    public static final Metric OVERRUNS = counter("pursuit_paced_overruns_total", "PacedLoop ticks that took longer than the period.");
+    public static final Metric PACED_LOOPS_RUNNING = gauge("pursuit_paced_loops_running", "PacedLoops running right now.");
+    public static final Metric CONTEXTS_CREATED = counter("pursuit_simulation_contexts_created_total", "SimulationContexts made, one per thread that runs a simulation.");
+    public static final Metric CONTEXT_RUNS = counter("pursuit_simulation_context_runs_total", "Runs on a reused SimulationContext, which don't allocate.");
+
+    static {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if(threads instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+            com.sun.management.ThreadMXBean allocation = (com.sun.management.ThreadMXBean) threads;
+            // Only counts threads that are still alive, so it can go down when a pool shrinks.
+            gauge("jvm_live_threads_allocated_bytes", "Bytes allocated by the threads that are alive right now.", () -> {
+                long total = 0L;
+                for(long bytes : allocation.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+                    total += Math.max(bytes, 0L);
+                }
+
+                return total;
+            });
+        }
+        counter("jvm_gc_collections_total", "Garbage collections, all collectors.", () -> {
+            long total = 0L;
+            for(GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                total += Math.max(collector.getCollectionCount(), 0L);
+            }
+
+            return total;
+        });
+        counter("jvm_gc_collection_seconds_total", "Time spent in garbage collection, all collectors.", () -> {
+            long total = 0L;
+            for(GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                total += Math.max(collector.getCollectionTime(), 0L);
+            }
+
+            return total / 1e3;
+        });
+    }
+
+    private SimMetrics() {
+    }
+
+    /**
+     * One counter or gauge. Either it keeps its own count, or it gets its value from somewhere else when it's scraped.
+     */
+    public static final class Metric {
+        public final String name;
+        public final String help;
+        // counter or gauge
+        public final String type;
+
+        private final LongAdder adder;
+        private final DoubleSupplier sampler;
+
+        private Metric(String name, String help, String type, DoubleSupplier sampler) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+            this.adder = sampler == null ? new LongAdder() : null;
+            this.sampler = sampler;
+        }
+
+        public void increment() {
+            this.adder.increment();
+        }
+
+        /**
+         * @param amount How much to add. Only gauges should ever get a negative one.
+         */
+        public void add(long amount) {
+            this.adder.add(amount);
+        }
+
+        public void decrement() {
+            this.adder.decrement();
+        }
+
+        /**
+         * @return The value right now.
+         */
+        public double value() {
+            return this.sampler == null ? this.adder.sum() : this.sampler.getAsDouble();
+        }
+    }
+
+    /**
+     * Makes and registers a counter. Prometheus wants counter names to end in _total.
+     *
+     * @param name The name, like pursuit_ticks_simulated_total.
+     * @param help What it counts.
+     *
+     * @return The counter.
+     */
+    public static Metric counter(String name, String help) {
+        return register(new Metric(name, help, "counter", null));
+    }
+
+    /**
+     * A counter that gets read from somewhere else whenever it's scraped. It should only ever go up.
+     */
+    public static Metric counter(String name, String help, DoubleSupplier sampler) {
+        return register(new Metric(name, help, "counter", sampler));
+    }
+
+    /**
+     * Makes and registers a gauge, which can go up and down.
+     */
+    public static Metric gauge(String name, String help) {
+        return register(new Metric(name, help, "gauge", null));
+    }
+
+    /**
+     * A gauge that gets read from somewhere else whenever it's scraped.
+     */
+    public static Metric gauge(String name, String help, DoubleSupplier sampler) {
+        return register(new Metric(name, help, "gauge", sampler));
+    }
+
+    private static Metric register(Metric metric) {
+        REGISTRY.add(metric);
+
+        return metric;
+    }
+
+    /**
+     * Writes every metric in Prometheus text format (version 0.0.4).
+     *
+     * @param out Where to write it.
+     *
+     * @throws IOException If {@code out} does.
+     */
+    public static void write(Appendable out) throws IOException {
+        for(Metric metric : REGISTRY) {
+            out.append("# HELP ").append(metric.name).append(' ').append(metric.help).append('\n');
+            out.append("# TYPE ").append(metric.name).append(' ').append(metric.type).append('\n');
+            out.append(metric.name).append(' ').append(format(metric.value())).append('\n');
+        }
+    }
+
+    /**
+     * @return Every metric in Prometheus text format.
+     */
+    public static String scrape() {
+        StringBuilder result = new StringBuilder();
+        try {
+            write(result);
+        } catch(IOException e) {
+            // StringBuilder doesn't throw.
+            throw new IllegalStateException(e);
+        }
+
+        return result.toString();
+    }
+
+    private static String format(double value) {
+        if(value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        if(Double.isNaN(value)) {
+            return "NaN";
+        }
+        if(Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+
+        return Double.toString(value);
+    }
+}
@@ -0,0 +1,146 @@
+import java.util.stream.IntStream;
+
+/**
+ * <h1> SimulationState </h1>
+ *
+ * A snapshot of everything that changes while following a path, so we can save it at some point (say t = 4 s)
+ * and try a bunch of "what if" branches from there without replaying the start every time.
+ *
+ * It's one flat {@code double[]}, so capturing is just copying 13 numbers. The path and {@code segV}
+ * aren't in here, because they never change after {@code PathGenerator} is made; branches share them.
+ *
+ * @since 2026-10-19
+ */
+public class SimulationState {
+    // Where each value lives in the array
+    public static final int ROBOT_X = 0;
+    public static final int ROBOT_Y = 1;
+    public static final int ROBOT_ANGLE = 2;
+    public static final int PREV_CLOSEST_POINT = 3;
+    public static final int LOOKAHEAD_X = 4;
+    public static final int LOOKAHEAD_Y = 5;
+    public static final int LOOKAHEAD_FRAC_INDEX = 6;
+    public static final int LOOKAHEAD_INDEX = 7;
+    public static final int LOOKAHEAD_RADIUS = 8;
+    public static final int GENERATOR_X = 9;
+    public static final int GENERATOR_Y = 10;
+    public static final int GENERATOR_ANGLE = 11;
+    public static final int TIME = 12;
+    public static final int SIZE = 13;
+
+    public final double[] values;
+
+    /**
+     * Something to run on each branch.
+     */
+    public interface Branch {
+        /**
+         * @param index Which branch this is.
+         * @param generator This branch's own generator, already restored.
+         * @param robot This branch's own robot, already restored.
+         */
+        void run(int index, PathGenerator generator, Robot robot);
+    }
+
+    private SimulationState(double[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Saves the state of a simulation.
+     *
+     * @param generator The path generator.
+     * @param robot The robot.
+     * @param time The simulation time, in seconds.
+     *
+     * @return The snapshot.
+     */
+    public static SimulationState capture(PathGenerator generator, Robot robot, double time) {
+        double[] values = new double[SIZE];
+        capture(generator, robot, time, values);
+
+        return new SimulationState(values);
+    }
+
+    /**
+     * Saves the state of a simulation into an array we already have. No allocation.
+     *
+     * @param generator The path generator.
+     * @param robot The robot.
+     * @param time The simulation time, in seconds.
+     * @param values Where to put it. Has to be at least {@code SIZE} long.
+     */
+    public static void capture(PathGenerator generator, Robot robot, double time, double[] values) {
+        values[ROBOT_X] = robot.robotPos[0][0];
+        values[ROBOT_Y] = robot.robotPos[0][1];
+        values[ROBOT_ANGLE] = robot.robotAngle;
+        values[PREV_CLOSEST_POINT] = generator.prevClosestPoint;
+        values[LOOKAHEAD_X] = generator.currentLookaheadPoint[0][0];
+        values[LOOKAHEAD_Y] = generator.currentLookaheadPoint[0][1];
+        values[LOOKAHEAD_FRAC_INDEX] = generator.currentLookaheadPoint[1][0];
+        values[LOOKAHEAD_INDEX] = generator.currentLookaheadPoint[1][1];
+        values[LOOKAHEAD_RADIUS] = generator.lookaheadRadius;
+        values[GENERATOR_X] = generator.robotPos[0][0];
+        values[GENERATOR_Y] = generator.robotPos[0][1];
+        values[GENERATOR_ANGLE] = generator.robotAngle;
+        values[TIME] = time;
+    }
+
+    /**
+     * Puts a generator and robot back to this snapshot. They have to be on the same path the snapshot was taken on.
+     *
+     * @param generator The path generator.
+     * @param robot The robot.
+     */
+    public void restore(PathGenerator generator, Robot robot) {
+        restore(this.values, generator, robot);
+    }
+
+    /**
+     * Same as {@code restore}, but from a plain array.
+     *
+     * @param values The snapshot.
+     * @param generator The path generator.
+     * @param robot The robot.
+     */
+    public static void restore(double[] values, PathGenerator generator, Robot robot) {
+        robot.robotPos[0][0] = values[ROBOT_X];
+        robot.robotPos[0][1] = values[ROBOT_Y];
+        robot.robotAngle = values[ROBOT_ANGLE];
+        generator.prevClosestPoint = (int) values[PREV_CLOSEST_POINT];
+        // lookaheadPoint writes into this array in place, so restoring it is just copying the numbers back.
+        generator.currentLookaheadPoint[0][0] = values[LOOKAHEAD_X];
+        generator.currentLookaheadPoint[0][1] = values[LOOKAHEAD_Y];
+        generator.currentLookaheadPoint[1][0] = values[LOOKAHEAD_FRAC_INDEX];
+        generator.currentLookaheadPoint[1][1] = values[LOOKAHEAD_INDEX];
+        generator.lookaheadRadius = values[LOOKAHEAD_RADIUS];
+        generator.robotPos[0][0] = values[GENERATOR_X];
+        generator.robotPos[0][1] = values[GENERATOR_Y];
+        generator.robotAngle = values[GENERATOR_ANGLE];
+    }
+
+    /**
+     * @return The simulation time the snapshot was taken at.
+     */
+    public double time() {
+        return this.values[TIME];
+    }
+
+    /**
+     * Runs a bunch of branches from this snapshot in parallel. Each branch gets its own generator and robot
+     * (sharing the path with {@code generator}), restored to this snapshot.
+     *
+     * @param branches How many branches.
+     * @param generator Any generator on the same path. Only used as a template; it doesn't get touched.
+     * @param robot Any robot with the same drivetrain. Also just a template.
+     * @param branch What to do on each branch.
+     */
+    public void fork(int branches, PathGenerator generator, Robot robot, Branch branch) {
+        IntStream.range(0, branches).parallel().forEach(i -> {
+            PathGenerator branchGenerator = new PathGenerator(generator);
+            Robot branchRobot = new Robot(robot);
+            restore(branchGenerator, branchRobot);
+            branch.run(i, branchGenerator, branchRobot);
+        });
+    }
+}
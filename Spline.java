@@ -1,4 +1,6 @@
 import java.lang.Math;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * <h1> Spline </h1>
@@ -135,6 +137,7 @@ import java.lang.Math;
      * @return The arc length.
      */
     public double arcLength(double interval) {
+        SimMetrics.ARC_LENGTH_EVALUATIONS.increment();
         double result = 0.0;
         for(int i = 0; i < (int) Math.floor(1 / interval); i++) {
             double derivatives1[][] = getVelocity(i * interval);
@@ -163,18 +166,89 @@ import java.lang.Math;
      * @return The arc length.
      */
     public double arcLength(double interval, double start, double end) {
+        SimMetrics.ARC_LENGTH_EVALUATIONS.increment();
         double result = 0.0;
         double increment = start;
-        while(increment <= end) {
+        while(increment < end) {
             double derivatives1[][] = getVelocity(increment);
-            increment += interval;
+            // The last step gets cut short so we don't go past the end point.
+            double step = Math.min(interval, end - increment);
+            increment += step;
             double derivatives2[][] = getVelocity(increment);
-            result += 0.5 * interval * (Math.hypot(derivatives1[0][0], derivatives1[0][1]) + Math.hypot(derivatives2[0][0], derivatives2[0][1]));
+            result += 0.5 * step * (Math.hypot(derivatives1[0][0], derivatives1[0][1]) + Math.hypot(derivatives2[0][0], derivatives2[0][1]));
         }
 
         return result;
     }
 
+    /**
+     * Arc length from one parameter to another, but with adaptive Simpson's rule instead of a fixed step.
+     * Intervals only get split where the speed is curvy, so a straight-ish spline only needs a few dozen speed evaluations.
+     *
+     * @param tMin The start parameter.
+     * @param tMax The end parameter.
+     * @param tolerance The absolute error allowed on the result, in inches. Has to be more than 0.
+     *
+     * @return The arc length.
+     *
+     * @throws IllegalArgumentException If the tolerance isn't more than 0 or a bound isn't a real number.
+     * @throws IllegalStateException If the spline's speed isn't a real number, which happens when its coefficients aren't.
+     */
+    public double adaptiveArcLength(double tMin, double tMax, double tolerance) {
+        SimMetrics.ARC_LENGTH_EVALUATIONS.increment();
+        if(!(tolerance > 0.0)) {
+            throw new IllegalArgumentException("Tolerance has to be more than 0, not " + tolerance);
+        }
+        if(!Double.isFinite(tMin) || !Double.isFinite(tMax)) {
+            throw new IllegalArgumentException("Bounds have to be real numbers, not " + tMin + " and " + tMax);
+        }
+        if(tMax <= tMin) {
+            return 0.0;
+        }
+        double fa = speed(tMin);
+        double fm = speed(0.5 * (tMin + tMax));
+        double fb = speed(tMax);
+        double whole = (tMax - tMin) * (fa + 4.0 * fm + fb) / 6.0;
+        if(!Double.isFinite(whole)) {
+            throw new IllegalStateException("The spline's speed isn't a real number, so it has no arc length. Check its coefficients.");
+        }
+
+        // 20 halvings is pieces a millionth of the spline long, and at most a couple million speed evaluations.
+        return adaptiveSimpson(tMin, tMax, fa, fm, fb, whole, tolerance, 20);
+    }
+
+    /**
+     * One level of adaptive Simpson's rule. Splits [a, b] in half and compares the two halves against the whole.
+     *
+     * @param a Left end.
+     * @param b Right end.
+     * @param fa Speed at a.
+     * @param fm Speed at the midpoint.
+     * @param fb Speed at b.
+     * @param whole Simpson's estimate over all of [a, b].
+     * @param tolerance The error allowed on this piece.
+     * @param depth How many more times we're allowed to split.
+     *
+     * @return The arc length over [a, b].
+     */
+    private double adaptiveSimpson(double a, double b, double fa, double fm, double fb, double whole, double tolerance, int depth) {
+        double m = 0.5 * (a + b);
+        double lm = 0.5 * (a + m);
+        double rm = 0.5 * (m + b);
+        double flm = speed(lm);
+        double frm = speed(rm);
+        double left = (m - a) * (fa + 4.0 * flm + fm) / 6.0;
+        double right = (b - m) * (fm + 4.0 * frm + fb) / 6.0;
+        double delta = left + right - whole;
+        // The 15 comes from Richardson extrapolation, since Simpson's error goes down by 16x per halving.
+        // Written so a NaN stops here instead of splitting all the way down.
+        if(depth <= 0 || !(Math.abs(delta) > 15.0 * tolerance)) {
+            return left + right + delta / 15.0;
+        }
+
+        return adaptiveSimpson(a, m, fa, flm, fm, left, 0.5 * tolerance, depth - 1) + adaptiveSimpson(m, b, fm, frm, fb, right, 0.5 * tolerance, depth - 1);
+    }
+
     // // I keep getting Stack Overflow errors HELP
     // public double arcLengthAt(int index, int numPoints) {
     //     if(index == 0) {
@@ -260,6 +334,51 @@ import java.lang.Math;
         return result;
     }
 
+    /**
+     * Evenly spaced points, one at a time, without building the big table {@code interpolateEven} does.
+     * See {@code SplineSampler}.
+     *
+     * @param spacing The space, in inches, between each point.
+     * @param tolerance The arc length error allowed when placing each point, in inches.
+     *
+     * @return The sampler.
+     */
+    public SplineSampler sampler(double spacing, double tolerance) {
+        return new SplineSampler(this, spacing, tolerance);
+    }
+
+    /**
+     * Same as {@code sampler}, but as a stream of (x, y, xVel, yVel, arcLength) rows.
+     *
+     * @param spacing The space, in inches, between each point.
+     * @param tolerance The arc length error allowed when placing each point, in inches.
+     * @param parallel If the stream should be parallel.
+     *
+     * @return The stream.
+     */
+    public Stream<double[]> stream(double spacing, double tolerance, boolean parallel) {
+        return StreamSupport.stream(sampler(spacing, tolerance), parallel);
+    }
+
+    /**
+     * Evenly spaced interpolation, like {@code interpolateEven}, but straight from a {@code SplineSampler},
+     * so the only thing that gets allocated is the result.
+     *
+     * @param spacing The space, in inches, between each point.
+     * @param tolerance The arc length error allowed when placing each point, in inches.
+     *
+     * @return An n*5 array of (x, y, xVel, yVel, arcLength) points.
+     */
+    public double[][] sampleEven(double spacing, double tolerance) {
+        SplineSampler sampler = sampler(spacing, tolerance);
+        double[][] result = new double[sampler.pointCount()][SplineSampler.COLUMNS];
+        for(int i = 0; i < result.length; ++i) {
+            sampler.next(result[i]);
+        }
+
+        return result;
+    }
+
     /**
      * If you want the robot to end at a certain angle.
      * 
@@ -0,0 +1,294 @@
+import java.util.Arrays;
+
+/**
+ * <h1> SplineBatch </h1>
+ *
+ * A bunch of quintic splines kept together, for when you've got a whole autonomous routine (or a tuner trying
+ * thousands of them) instead of one {@code Spline} at a time. Everything's stored as structure-of-arrays: boundary
+ * conditions and coefficients each get one array with an entry per spline, so {@code solve} and the evaluation methods
+ * are plain loops over doubles that the JIT can unroll and vectorize. Nothing in here allocates once the batch is big enough.
+ *
+ * The coefficients come from actually solving the boundary conditions: position, velocity and acceleration at t = 0 and
+ * t = 1 all come out exactly what you asked for. {@code Spline.calculateCoeffs} has the wrong sign on the 15 in the t^4
+ * term and then rescales everything by {@code end / sum} to paper over it. That gets the end point right but nothing
+ * else (on the usual test spline, t = 0.3 is at (1.3, 1.3) instead of (16.5, 16.5)), so don't expect the two to agree.
+ *
+ * The parameter goes from 0 to 1, same as {@code Spline}.
+ *
+ * <b> UNITS ARE IN INCHES. </b>
+ *
+ * @since 2026-10-19
+ */
+public final class SplineBatch {
+    // Which boundary condition is which in start and end.
+    public static final int POSITION = 0;
+    public static final int VELOCITY = 1;
+    public static final int ACCEL = 2;
+
+    private static final int COEFFS = 6;
+
+    // Boundary conditions, one array each, indexed by spline.
+    private double[] x0, vx0, ax0, x1, vx1, ax1;
+    private double[] y0, vy0, ay0, y1, vy1, ay1;
+    // xCoeffs[k][i] is the coefficient of t^k for spline i.
+    private double[][] xCoeffs;
+    private double[][] yCoeffs;
+
+    private int size;
+    // Splines below this index have had their coefficients solved.
+    private int solved;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity How many splines to make room for. It grows if you add more.
+     */
+    public SplineBatch(int capacity) {
+        this.xCoeffs = new double[COEFFS][];
+        this.yCoeffs = new double[COEFFS][];
+        resize(Math.max(capacity, 1));
+    }
+
+    /**
+     * Adds a spline. Same format as the {@code Spline} constructor.
+     *
+     * @param start The position, velocity and acceleration of the start point, each in (x, y) format.
+     * @param end Same for the end point.
+     *
+     * @return The spline's index in the batch.
+     */
+    public int add(double[][] start, double[][] end) {
+        if(this.size == this.x0.length) {
+            resize(2 * this.size);
+        }
+        int i = this.size;
+        this.x0[i] = start[POSITION][0];
+        this.y0[i] = start[POSITION][1];
+        this.vx0[i] = start[VELOCITY][0];
+        this.vy0[i] = start[VELOCITY][1];
+        this.ax0[i] = start[ACCEL][0];
+        this.ay0[i] = start[ACCEL][1];
+        this.x1[i] = end[POSITION][0];
+        this.y1[i] = end[POSITION][1];
+        this.vx1[i] = end[VELOCITY][0];
+        this.vy1[i] = end[VELOCITY][1];
+        this.ax1[i] = end[ACCEL][0];
+        this.ay1[i] = end[ACCEL][1];
+        this.size++;
+
+        return i;
+    }
+
+    /**
+     * Adds a spline with the same boundary conditions as an existing {@code Spline}. The coefficients get solved
+     * properly, so they won't match {@code spline.xCoeffs}.
+     *
+     * @param spline The spline.
+     *
+     * @return The spline's index in the batch.
+     */
+    public int add(Spline spline) {
+        return add(spline.start, spline.end);
+    }
+
+    /**
+     * @return How many splines there are.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Forgets every spline, but keeps the arrays so refilling the batch doesn't allocate.
+     */
+    public void clear() {
+        this.size = 0;
+        this.solved = 0;
+    }
+
+    /**
+     * Works out the coefficients of every spline added since the last solve, all in one pass. The evaluation methods
+     * call this themselves if they need to, so you only have to call it if you want to control when the work happens.
+     *
+     * For each axis, with D = p1 - p0:
+     * c0 = p0, c1 = v0, c2 = a0 / 2,
+     * c3 = 10D - 6v0 - 4v1 - 1.5a0 + 0.5a1,
+     * c4 = -15D + 8v0 + 7v1 + 1.5a0 - a1,
+     * c5 = 6D - 3v0 - 3v1 - 0.5a0 + 0.5a1.
+     */
+    public void solve() {
+        solveAxis(this.x0, this.vx0, this.ax0, this.x1, this.vx1, this.ax1, this.xCoeffs, this.solved, this.size);
+        solveAxis(this.y0, this.vy0, this.ay0, this.y1, this.vy1, this.ay1, this.yCoeffs, this.solved, this.size);
+        this.solved = this.size;
+    }
+
+    private static void solveAxis(double[] p0, double[] v0, double[] a0, double[] p1, double[] v1, double[] a1, double[][] coeffs, int from, int to) {
+        double[] c0 = coeffs[0], c1 = coeffs[1], c2 = coeffs[2], c3 = coeffs[3], c4 = coeffs[4], c5 = coeffs[5];
+        for(int i = from; i < to; ++i) {
+            double d = p1[i] - p0[i];
+            c0[i] = p0[i];
+            c1[i] = v0[i];
+            c2[i] = 0.5 * a0[i];
+            c3[i] = 10.0 * d - 6.0 * v0[i] - 4.0 * v1[i] - 1.5 * a0[i] + 0.5 * a1[i];
+            c4[i] = -15.0 * d + 8.0 * v0[i] + 7.0 * v1[i] + 1.5 * a0[i] - a1[i];
+            c5[i] = 6.0 * d - 3.0 * v0[i] - 3.0 * v1[i] - 0.5 * a0[i] + 0.5 * a1[i];
+        }
+    }
+
+    /**
+     * Positions for a list of (spline, t) pairs.
+     *
+     * @param splines Which spline each pair is on.
+     * @param t The parameter of each pair, from 0 to 1.
+     * @param count How many pairs to do.
+     * @param x Where the x coordinates go.
+     * @param y Where the y coordinates go.
+     */
+    public void positions(int[] splines, double[] t, int count, double[] x, double[] y) {
+        ensureSolved();
+        evaluate(this.xCoeffs, splines, t, count, x);
+        evaluate(this.yCoeffs, splines, t, count, y);
+    }
+
+    /**
+     * Velocity vectors for a list of (spline, t) pairs. See {@code positions} for the format.
+     */
+    public void velocities(int[] splines, double[] t, int count, double[] xVel, double[] yVel) {
+        ensureSolved();
+        derivative(this.xCoeffs, splines, t, count, xVel);
+        derivative(this.yCoeffs, splines, t, count, yVel);
+    }
+
+    /**
+     * Acceleration vectors for a list of (spline, t) pairs. See {@code positions} for the format.
+     */
+    public void accelerations(int[] splines, double[] t, int count, double[] xAccel, double[] yAccel) {
+        ensureSolved();
+        secondDerivative(this.xCoeffs, splines, t, count, xAccel);
+        secondDerivative(this.yCoeffs, splines, t, count, yAccel);
+    }
+
+    /**
+     * Signed curvature, (x'y'' - y'x'') / |v|^3, for a list of (spline, t) pairs. Positive means turning
+     * counterclockwise. It's NaN wherever the spline stops (zero velocity), since the direction isn't defined there.
+     *
+     * @param splines Which spline each pair is on.
+     * @param t The parameter of each pair, from 0 to 1.
+     * @param count How many pairs to do.
+     * @param curvature Where the curvatures go, in 1 / inches.
+     */
+    public void curvatures(int[] splines, double[] t, int count, double[] curvature) {
+        ensureSolved();
+        double[] b0 = this.xCoeffs[0], b1 = this.xCoeffs[1], b2 = this.xCoeffs[2], b3 = this.xCoeffs[3], b4 = this.xCoeffs[4], b5 = this.xCoeffs[5];
+        double[] d0 = this.yCoeffs[0], d1 = this.yCoeffs[1], d2 = this.yCoeffs[2], d3 = this.yCoeffs[3], d4 = this.yCoeffs[4], d5 = this.yCoeffs[5];
+        for(int j = 0; j < count; ++j) {
+            int i = splines[j];
+            double s = t[j];
+            double dx = b1[i] + s * (2.0 * b2[i] + s * (3.0 * b3[i] + s * (4.0 * b4[i] + s * 5.0 * b5[i])));
+            double dy = d1[i] + s * (2.0 * d2[i] + s * (3.0 * d3[i] + s * (4.0 * d4[i] + s * 5.0 * d5[i])));
+            double ddx = 2.0 * b2[i] + s * (6.0 * b3[i] + s * (12.0 * b4[i] + s * 20.0 * b5[i]));
+            double ddy = 2.0 * d2[i] + s * (6.0 * d3[i] + s * (12.0 * d4[i] + s * 20.0 * d5[i]));
+            double speedSquared = dx * dx + dy * dy;
+            curvature[j] = (dx * ddy - dy * ddx) / (speedSquared * Math.sqrt(speedSquared));
+        }
+    }
+
+    /**
+     * Positions at the same parameters for every spline, for when you want the whole batch sampled at once.
+     * Point j of spline i goes in {@code x[i * t.length + j]}.
+     *
+     * @param t The parameters, from 0 to 1.
+     * @param x Where the x coordinates go. Needs room for {@code size() * t.length}.
+     * @param y Where the y coordinates go.
+     */
+    public void sampleAll(double[] t, double[] x, double[] y) {
+        ensureSolved();
+        int n = t.length;
+        for(int i = 0; i < this.size; ++i) {
+            sampleOne(this.xCoeffs, i, t, x, i * n);
+            sampleOne(this.yCoeffs, i, t, y, i * n);
+        }
+    }
+
+    /**
+     * The position of one point, without going through arrays of pairs.
+     *
+     * @param spline The spline's index.
+     * @param t The parameter, from 0 to 1.
+     * @param result Gets filled with (x, y).
+     */
+    public void position(int spline, double t, double[] result) {
+        ensureSolved();
+        result[0] = horner(this.xCoeffs, spline, t);
+        result[1] = horner(this.yCoeffs, spline, t);
+    }
+
+    private void ensureSolved() {
+        if(this.solved < this.size) {
+            solve();
+        }
+    }
+
+    private static double horner(double[][] c, int i, double t) {
+        return c[0][i] + t * (c[1][i] + t * (c[2][i] + t * (c[3][i] + t * (c[4][i] + t * c[5][i]))));
+    }
+
+    private static void sampleOne(double[][] c, int i, double[] t, double[] out, int offset) {
+        // Pulling the spline's coefficients out first leaves a loop over t with nothing but multiply-adds.
+        double c0 = c[0][i], c1 = c[1][i], c2 = c[2][i], c3 = c[3][i], c4 = c[4][i], c5 = c[5][i];
+        for(int j = 0; j < t.length; ++j) {
+            double s = t[j];
+            out[offset + j] = c0 + s * (c1 + s * (c2 + s * (c3 + s * (c4 + s * c5))));
+        }
+    }
+
+    private static void evaluate(double[][] c, int[] splines, double[] t, int count, double[] out) {
+        double[] c0 = c[0], c1 = c[1], c2 = c[2], c3 = c[3], c4 = c[4], c5 = c[5];
+        for(int j = 0; j < count; ++j) {
+            int i = splines[j];
+            double s = t[j];
+            out[j] = c0[i] + s * (c1[i] + s * (c2[i] + s * (c3[i] + s * (c4[i] + s * c5[i]))));
+        }
+    }
+
+    private static void derivative(double[][] c, int[] splines, double[] t, int count, double[] out) {
+        double[] c1 = c[1], c2 = c[2], c3 = c[3], c4 = c[4], c5 = c[5];
+        for(int j = 0; j < count; ++j) {
+            int i = splines[j];
+            double s = t[j];
+            out[j] = c1[i] + s * (2.0 * c2[i] + s * (3.0 * c3[i] + s * (4.0 * c4[i] + s * 5.0 * c5[i])));
+        }
+    }
+
+    private static void secondDerivative(double[][] c, int[] splines, double[] t, int count, double[] out) {
+        double[] c2 = c[2], c3 = c[3], c4 = c[4], c5 = c[5];
+        for(int j = 0; j < count; ++j) {
+            int i = splines[j];
+            double s = t[j];
+            out[j] = 2.0 * c2[i] + s * (6.0 * c3[i] + s * (12.0 * c4[i] + s * 20.0 * c5[i]));
+        }
+    }
+
+    private void resize(int capacity) {
+        this.x0 = grow(this.x0, capacity);
+        this.vx0 = grow(this.vx0, capacity);
+        this.ax0 = grow(this.ax0, capacity);
+        this.x1 = grow(this.x1, capacity);
+        this.vx1 = grow(this.vx1, capacity);
+        this.ax1 = grow(this.ax1, capacity);
+        this.y0 = grow(this.y0, capacity);
+        this.vy0 = grow(this.vy0, capacity);
+        this.ay0 = grow(this.ay0, capacity);
+        this.y1 = grow(this.y1, capacity);
+        this.vy1 = grow(this.vy1, capacity);
+        this.ay1 = grow(this.ay1, capacity);
+        for(int k = 0; k < COEFFS; ++k) {
+            this.xCoeffs[k] = grow(this.xCoeffs[k], capacity);
+            this.yCoeffs[k] = grow(this.yCoeffs[k], capacity);
+        }
+    }
+
+    private static double[] grow(double[] array, int capacity) {
+        return array == null ? new double[capacity] : Arrays.copyOf(array, capacity);
+    }
+}
@@ -0,0 +1,170 @@
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * <h1> SplineSampler </h1>
+ *
+ * Evenly spaced points along a {@code Spline}, worked out one at a time instead of all at once.
+ * {@code interpolateEven} builds a huge table of points and then picks from it; this finds the parameter for each
+ * point with Newton's method on {@code adaptiveArcLength} instead, so it only ever keeps the current point around.
+ *
+ * Points come out the same way {@code interpolateEven} lays them out: point j is j * spacing inches along the spline,
+ * and the last point is always the end of the spline. Each point is (x, y, xVel, yVel, arcLength).
+ *
+ * It's a {@code Spliterator}, so it can feed a (parallel) stream; splitting just hands the first half of the points
+ * to a new sampler, and the second half finds its starting parameter from scratch when it's first used.
+ * If you don't want a new array per point, call {@code next} with your own array instead.
+ *
+ * <b> UNITS ARE IN INCHES. </b>
+ *
+ * @since 2026-10-19
+ */
+public class SplineSampler implements Spliterator<double[]> {
+    public static final int COLUMNS = 5;
+    private static final int MAX_NEWTON_STEPS = 20;
+
+    private final Spline spline;
+    private final double spacing;
+    // Allowed arc length error, in inches, when placing each point.
+    private final double tolerance;
+    private final double totalLength;
+    // Index of the endpoint.
+    private final int last;
+    private int index;
+    private int fence;
+    // Parameter and arc length of the last point we placed. NaN until we've placed one.
+    private double t;
+    private double s;
+
+    /**
+     * Constructor.
+     *
+     * @param spline The spline.
+     * @param spacing The space, in inches, between each point.
+     * @param tolerance The arc length error allowed when placing each point, in inches.
+     */
+    public SplineSampler(Spline spline, double spacing, double tolerance) {
+        this.spline = spline;
+        this.spacing = spacing;
+        this.tolerance = tolerance;
+        this.totalLength = spline.adaptiveArcLength(0.0, 1.0, tolerance);
+        this.last = (int) Math.floor(this.totalLength / spacing);
+        this.index = 0;
+        this.fence = this.last + 1;
+        this.t = Double.NaN;
+        this.s = Double.NaN;
+    }
+
+    private SplineSampler(SplineSampler other, int index, int fence) {
+        this.spline = other.spline;
+        this.spacing = other.spacing;
+        this.tolerance = other.tolerance;
+        this.totalLength = other.totalLength;
+        this.last = other.last;
+        this.index = index;
+        this.fence = fence;
+        this.t = other.t;
+        this.s = other.s;
+    }
+
+    /**
+     * @return How many points there are in total, the endpoint included.
+     */
+    public int pointCount() {
+        return this.last + 1;
+    }
+
+    /**
+     * @return The arc length of the whole spline.
+     */
+    public double totalLength() {
+        return this.totalLength;
+    }
+
+    /**
+     * Puts the next point into an array you give it.
+     *
+     * @param out At least 5 long. Gets (x, y, xVel, yVel, arcLength).
+     *
+     * @return False if there are no points left.
+     */
+    public boolean next(double[] out) {
+        if(this.index >= this.fence) {
+            return false;
+        }
+        if(this.index == this.last) {
+            this.t = 1.0;
+            this.s = this.totalLength;
+        } else {
+            seek(this.index * this.spacing);
+        }
+
+        double[][] position = this.spline.getPosition(this.t);
+        double[][] velocity = this.spline.getVelocity(this.t);
+        out[0] = position[0][0];
+        out[1] = position[0][1];
+        out[2] = velocity[0][0];
+        out[3] = velocity[0][1];
+        out[4] = this.s;
+        this.index++;
+
+        return true;
+    }
+
+    /**
+     * Moves {@code t} to where the arc length is {@code target}, with Newton's method: the derivative of arc length is the speed.
+     */
+    private void seek(double target) {
+        if(Double.isNaN(this.t)) {
+            // Good first guess if the speed is about constant.
+            this.t = target / this.totalLength;
+            this.s = this.spline.adaptiveArcLength(0.0, this.t, this.tolerance);
+        }
+        for(int i = 0; i < MAX_NEWTON_STEPS && Math.abs(target - this.s) > this.tolerance; ++i) {
+            double next = this.t + (target - this.s) / this.spline.speed(this.t);
+            next = Math.max(0.0, Math.min(1.0, next));
+            if(next >= this.t) {
+                this.s += this.spline.adaptiveArcLength(this.t, next, this.tolerance);
+            } else {
+                this.s -= this.spline.adaptiveArcLength(next, this.t, this.tolerance);
+            }
+            this.t = next;
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super double[]> action) {
+        double[] point = new double[COLUMNS];
+        if(!next(point)) {
+            return false;
+        }
+        action.accept(point);
+
+        return true;
+    }
+
+    @Override
+    public Spliterator<double[]> trySplit() {
+        int middle = (this.index + this.fence) >>> 1;
+        if(middle <= this.index) {
+            return null;
+        }
+        // The new one gets the first half and carries on from where we are. We'll find our own spot later.
+        SplineSampler prefix = new SplineSampler(this, this.index, middle);
+        this.index = middle;
+        this.t = Double.NaN;
+        this.s = Double.NaN;
+
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return this.fence - this.index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+    }
+}
@@ -0,0 +1,366 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * <h1> SweepCoordinator </h1>
+ *
+ * Splits a parameter sweep into chunks and hands them out to {@code SweepWorker} JVMs over TCP, so a sweep isn't
+ * stuck with one JVM's heap and garbage collector. Workers ask for a chunk whenever they're free, so fast workers
+ * just end up doing more of them.
+ *
+ * If a worker dies, hangs for longer than {@code chunkTimeoutMillis}, or sends back garbage, its chunk goes back in
+ * the queue for someone else. A chunk that fails {@code maxAttempts} times is given up on and ends up in {@code failedChunks}.
+ * Results are merged as each chunk comes back, so {@code results} and {@code best} are always up to date,
+ * and {@code listener} (if there is one) sees every result as soon as it arrives.
+ *
+ * {@code main} runs a whole sweep on this computer, starting the workers itself. For workers on other computers,
+ * bind the server socket to an address they can reach and start {@code SweepWorker} on each of them by hand.
+ *
+ * <b> UNITS ARE IN INCHES. </b>
+ *
+ * @since 2026-10-19
+ */
+public class SweepCoordinator {
+    public final int chunkCount;
+    public int maxAttempts;
+    public long chunkTimeoutMillis;
+    // How long to wait for a worker to show up when none are connected, before giving up on the rest of the sweep.
+    public long idleTimeoutMillis;
+    public boolean verbose;
+    // Gets every result as it comes in, from whichever thread talked to that worker. Has to be thread safe.
+    public Consumer<AutoTuner.Evaluation> listener;
+
+    public final List<AutoTuner.Evaluation> results;
+    public final List<Chunk> failedChunks;
+    public AutoTuner.Evaluation best;
+    public int retries;
+
+    private final ConcurrentLinkedQueue<Chunk> queue;
+    private int remaining;
+    private int connected;
+    private long idleSince;
+
+    /**
+     * Some parameter sets, sent to one worker together.
+     */
+    public static class Chunk {
+        public final int id;
+        public final double[][] parameters;
+        public int attempts;
+
+        public Chunk(int id, double[][] parameters) {
+            this.id = id;
+            this.parameters = parameters;
+        }
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param parameterSets Every parameter set to try, in {@code AutoTuner} order.
+     * @param chunkSize How many sets go in each chunk.
+     */
+    public SweepCoordinator(List<double[]> parameterSets, int chunkSize) {
+        this.queue = new ConcurrentLinkedQueue<Chunk>();
+        int id = 0;
+        for(int i = 0; i < parameterSets.size(); i += chunkSize) {
+            List<double[]> sets = parameterSets.subList(i, Math.min(parameterSets.size(), i + chunkSize));
+            this.queue.add(new Chunk(id++, sets.toArray(new double[0][])));
+        }
+        this.chunkCount = id;
+        this.remaining = id;
+        this.maxAttempts = 3;
+        this.chunkTimeoutMillis = 60000;
+        this.idleTimeoutMillis = 30000;
+        this.results = Collections.synchronizedList(new ArrayList<AutoTuner.Evaluation>());
+        this.failedChunks = Collections.synchronizedList(new ArrayList<Chunk>());
+    }
+
+    /**
+     * Every combination of values between the bounds, like a grid.
+     *
+     * @param lower The smallest value of each parameter.
+     * @param upper The biggest value of each parameter.
+     * @param steps How many values of each parameter to try. 1 just uses the lower bound.
+     *
+     * @return The parameter sets.
+     */
+    public static List<double[]> grid(double[] lower, double[] upper, int[] steps) {
+        List<double[]> sets = new ArrayList<double[]>();
+        int[] index = new int[lower.length];
+        while(true) {
+            double[] set = new double[lower.length];
+            for(int i = 0; i < lower.length; ++i) {
+                set[i] = steps[i] > 1 ? lower[i] + index[i] * (upper[i] - lower[i]) / (steps[i] - 1) : lower[i];
+            }
+            sets.add(set);
+            // Count up like an odometer.
+            int i = 0;
+            while(i < lower.length && ++index[i] == steps[i]) {
+                index[i] = 0;
+                i++;
+            }
+            if(i == lower.length) {
+                return sets;
+            }
+        }
+    }
+
+    /**
+     * Hands out chunks to whoever connects until every chunk is done (or given up on), or no workers have been
+     * around for {@code idleTimeoutMillis}.
+     *
+     * @param server The socket workers connect to. Closed when the sweep is over.
+     *
+     * @return True if every chunk got done.
+     */
+    public boolean run(ServerSocket server) throws IOException {
+        synchronized(this) {
+            this.idleSince = System.currentTimeMillis();
+        }
+        Thread acceptor = new Thread(() -> {
+            try {
+                while(true) {
+                    Socket socket = server.accept();
+                    Thread handler = new Thread(() -> serve(socket), "sweep-worker-" + socket.getPort());
+                    handler.setDaemon(true);
+                    handler.start();
+                }
+            } catch(IOException e) {
+                // The server socket got closed, so we're done.
+            }
+        }, "sweep-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+
+        try {
+            synchronized(this) {
+                while(this.remaining > 0) {
+                    if(this.connected == 0 && System.currentTimeMillis() - this.idleSince > this.idleTimeoutMillis) {
+                        break;
+                    }
+                    wait(100);
+                }
+            }
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            server.close();
+        }
+
+        synchronized(this) {
+            return this.remaining == 0 && this.failedChunks.isEmpty();
+        }
+    }
+
+    /**
+     * Talks to one worker until it's done, dies, or we run out of chunks.
+     */
+    private void serve(Socket socket) {
+        synchronized(this) {
+            this.connected++;
+        }
+        String name = socket.getRemoteSocketAddress().toString();
+        Chunk chunk = null;
+        try(socket) {
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout((int) this.chunkTimeoutMillis);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+            String hello = in.readLine();
+            if(hello == null || !hello.startsWith("READY")) {
+                throw new IOException("Expected READY, got: " + hello);
+            }
+            name = hello.substring("READY".length()).trim();
+
+            while((chunk = next()) != null) {
+                StringBuilder request = new StringBuilder();
+                request.append("CHUNK ").append(chunk.id).append(' ').append(chunk.parameters.length).append('\n');
+                for(double[] set : chunk.parameters) {
+                    for(int i = 0; i < set.length; ++i) {
+                        request.append(i > 0 ? " " : "").append(set[i]);
+                    }
+                    request.append('\n');
+                }
+                out.write(request.toString());
+                out.flush();
+
+                AutoTuner.Evaluation[] evaluations = readResults(in, chunk);
+                merge(chunk, evaluations, name);
+                chunk = null;
+            }
+            out.write("DONE\n");
+            out.flush();
+        } catch(IOException | RuntimeException e) {
+            if(this.verbose) {
+                System.out.println("Worker " + name + " failed: " + e);
+            }
+        } finally {
+            synchronized(this) {
+                if(chunk != null) {
+                    retry(chunk);
+                }
+                this.connected--;
+                if(this.connected == 0) {
+                    this.idleSince = System.currentTimeMillis();
+                }
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * The next chunk to hand out, waiting for one to be put back if they're all out with other workers.
+     *
+     * @return The chunk, or null if there's nothing left to do.
+     */
+    private synchronized Chunk next() {
+        while(true) {
+            Chunk chunk = this.queue.poll();
+            if(chunk != null) {
+                chunk.attempts++;
+                return chunk;
+            }
+            if(this.remaining == 0) {
+                return null;
+            }
+            try {
+                wait(100);
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+
+    private AutoTuner.Evaluation[] readResults(BufferedReader in, Chunk chunk) throws IOException {
+        String line = in.readLine();
+        String expected = "RESULT " + chunk.id + " " + chunk.parameters.length;
+        if(line == null || !line.equals(expected)) {
+            throw new IOException("Expected \"" + expected + "\", got: " + line);
+        }
+        AutoTuner.Evaluation[] evaluations = new AutoTuner.Evaluation[chunk.parameters.length];
+        for(int i = 0; i < evaluations.length; ++i) {
+            double[] values = SweepWorker.parse(in.readLine(), AutoTuner.PARAMETERS + 3);
+            double[] parameters = Arrays.copyOf(values, AutoTuner.PARAMETERS);
+            evaluations[i] = new AutoTuner.Evaluation(parameters, values[AutoTuner.PARAMETERS], values[AutoTuner.PARAMETERS + 1],
+                values[AutoTuner.PARAMETERS + 2], false);
+        }
+
+        return evaluations;
+    }
+
+    private void merge(Chunk chunk, AutoTuner.Evaluation[] evaluations, String worker) {
+        for(AutoTuner.Evaluation evaluation : evaluations) {
+            if(this.listener != null) {
+                this.listener.accept(evaluation);
+            }
+        }
+        synchronized(this) {
+            for(AutoTuner.Evaluation evaluation : evaluations) {
+                this.results.add(evaluation);
+                if(this.best == null || evaluation.cost < this.best.cost) {
+                    this.best = evaluation;
+                }
+            }
+            this.remaining--;
+            if(this.verbose) {
+                System.out.println("Chunk " + chunk.id + " done by " + worker + " (" + (this.chunkCount - this.remaining) + "/" + this.chunkCount
+                    + "), best cost so far " + (this.best == null ? "none" : this.best.cost));
+            }
+            notifyAll();
+        }
+    }
+
+    /**
+     * Puts a chunk back in the queue, unless it's failed too many times already. Only call while synchronized.
+     */
+    private void retry(Chunk chunk) {
+        if(chunk.attempts >= this.maxAttempts) {
+            this.failedChunks.add(chunk);
+            this.remaining--;
+        } else {
+            this.retries++;
+            this.queue.add(chunk);
+        }
+    }
+
+    /**
+     * Arguments: how many workers (default 3), then optionally a route file and {@code --store directory} to save
+     * every result in a {@code SweepResultStore}. The last worker quits after its first chunk, to show off the retries.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int workers = 3;
+        String routeFile = null;
+        String storeDirectory = null;
+        for(int i = 0; i < args.length; ++i) {
+            if(args[i].equals("--store")) {
+                storeDirectory = args[++i];
+            } else if(i == 0) {
+                workers = Integer.parseInt(args[i]);
+            } else {
+                routeFile = args[i];
+            }
+        }
+
+        List<double[]> sets = grid(new double[] {8.0, 6.0, 1.0, 28.0}, new double[] {20.0, 15.0, 4.0, 34.0}, new int[] {4, 4, 3, 3});
+        SweepCoordinator coordinator = new SweepCoordinator(sets, 8);
+        coordinator.verbose = true;
+        SweepResultStore store = storeDirectory == null ? null : new SweepResultStore(Paths.get(storeDirectory));
+        if(store != null) {
+            coordinator.listener = store::append;
+        }
+
+        ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        List<Process> processes = new ArrayList<Process>();
+        for(int i = 0; i < workers; ++i) {
+            List<String> command = new ArrayList<String>();
+            command.add(new File(System.getProperty("java.home"), "bin/java").getPath());
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add("SweepWorker");
+            command.addAll(Arrays.asList("localhost", String.valueOf(server.getLocalPort()), "worker-" + i));
+            if(routeFile != null) {
+                command.add(routeFile);
+            }
+            if(i == workers - 1 && workers > 1) {
+                command.addAll(Arrays.asList("--fail-after", "1"));
+            }
+            processes.add(new ProcessBuilder(command).inheritIO().start());
+        }
+
+        long start = System.nanoTime();
+        boolean complete = coordinator.run(server);
+        for(Process process : processes) {
+            process.waitFor();
+        }
+        if(store != null) {
+            System.out.println("Saved to " + store.directory + ", " + store.rows() + " rows");
+            store.close();
+        }
+
+        List<AutoTuner.Evaluation> results = new ArrayList<AutoTuner.Evaluation>(coordinator.results);
+        results.sort((a, b) -> Double.compare(a.cost, b.cost));
+        for(int i = 0; i < Math.min(5, results.size()); ++i) {
+            System.out.println(results.get(i));
+        }
+        System.out.println(results.size() + " of " + sets.size() + " parameter sets in " + (System.nanoTime() - start) / 1e6 + " ms, "
+            + coordinator.retries + " retries, " + coordinator.failedChunks.size() + " chunks given up on" + (complete ? "" : ", INCOMPLETE"));
+    }
+}
@@ -0,0 +1,505 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * <h1> SweepResultStore </h1>
+ *
+ * Keeps every sweep result on disk, so a sweep of a few hundred thousand parameter sets can be looked through
+ * afterwards instead of scrolling back through the printout.
+ *
+ * It's a directory with one file per column ({@code lookahead.col}, {@code time.col}, ...), each just doubles one
+ * after another, plus {@code index.bin}, which has the min and max of every column for every block of
+ * {@code BLOCK_ROWS} rows. Rows can only be added, never changed. New rows wait in a one block buffer and get
+ * written when it fills up (or on {@code flush}), so memory doesn't grow however long the sweep runs.
+ *
+ * Queries go a block at a time. A block whose min/max says none of its rows can match is skipped without being read,
+ * and only the columns the query actually uses get read. Only the index and one block are ever in memory.
+ *
+ * NaN (a run that blew up, say) sorts after +infinity, the same as {@code Double.compare}. So a block's min is its
+ * smallest real value and its max is NaN if it has any NaNs, and sorting by a column puts the NaNs last going up
+ * and first going down.
+ *
+ * Everything is thread safe, so it can be a {@code SweepCoordinator} listener.
+ *
+ * <b> UNITS ARE IN INCHES. </b>
+ *
+ * @since 2026-10-19
+ */
+public class SweepResultStore implements AutoCloseable {
+    // The first four are in AutoTuner order.
+    public static final int LOOKAHEAD = AutoTuner.LOOKAHEAD;
+    public static final int MAX_VEL = AutoTuner.MAX_VEL;
+    public static final int ACCEL = AutoTuner.ACCEL;
+    public static final int TRACK_LENGTH = AutoTuner.TRACK_LENGTH;
+    public static final int COST = 4;
+    public static final int TIME = 5;
+    public static final int MAX_ERROR = 6;
+    public static final int COLUMNS = 7;
+    public static final String[] NAMES = {"lookahead", "maxVel", "accel", "trackLength", "cost", "time", "maxError"};
+    public static final int BLOCK_ROWS = 4096;
+
+    public final Path directory;
+
+    private final FileChannel[] columns;
+    private final FileChannel index;
+    // Min and max of each column for each block, as blockMin[block][column]
+    private final List<double[]> blockMin;
+    private final List<double[]> blockMax;
+    // Rows in the current (last) block, and how many of those are already on disk
+    private final double[][] buffer;
+    private int buffered;
+    private int written;
+    // Rows in full blocks before the current one
+    private long blockStart;
+
+    /**
+     * A filter and sort. Everything is allowed and nothing is sorted until you say otherwise.
+     */
+    public static class Query {
+        public final double[] lower = new double[COLUMNS];
+        public final double[] upper = new double[COLUMNS];
+        // -1 for no sorting
+        public int orderBy = -1;
+        public boolean ascending = true;
+        public int limit = Integer.MAX_VALUE;
+
+        public Query() {
+            Arrays.fill(this.lower, Double.NEGATIVE_INFINITY);
+            Arrays.fill(this.upper, Double.POSITIVE_INFINITY);
+        }
+
+        /**
+         * Only rows with {@code min <= column <= max}.
+         */
+        public Query where(int column, double min, double max) {
+            this.lower[column] = Math.max(this.lower[column], min);
+            this.upper[column] = Math.min(this.upper[column], max);
+
+            return this;
+        }
+
+        public Query orderBy(int column, boolean ascending) {
+            this.orderBy = column;
+            this.ascending = ascending;
+
+            return this;
+        }
+
+        /**
+         * @param limit The most rows to return. 0 or less returns none.
+         */
+        public Query limit(int limit) {
+            this.limit = limit;
+
+            return this;
+        }
+
+        private boolean filters(int column) {
+            return this.lower[column] != Double.NEGATIVE_INFINITY || this.upper[column] != Double.POSITIVE_INFINITY;
+        }
+    }
+
+    /**
+     * One row, for query results.
+     */
+    public static class Row {
+        public final long number;
+        public final double[] values;
+
+        public Row(long number, double[] values) {
+            this.number = number;
+            this.values = values;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder result = new StringBuilder("#" + this.number);
+            for(int c = 0; c < COLUMNS; ++c) {
+                result.append(c == 0 ? " " : ", ").append(NAMES[c]).append(' ').append(this.values[c]);
+            }
+
+            return result.toString();
+        }
+    }
+
+    /**
+     * Opens a store, or makes a new one if the directory is empty or isn't there.
+     *
+     * @param directory Where the files go.
+     */
+    public SweepResultStore(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        this.columns = new FileChannel[COLUMNS];
+        for(int c = 0; c < COLUMNS; ++c) {
+            this.columns[c] = FileChannel.open(directory.resolve(NAMES[c] + ".col"), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        this.index = FileChannel.open(directory.resolve("index.bin"), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = new double[COLUMNS][BLOCK_ROWS];
+        this.blockMin = new ArrayList<double[]>();
+        this.blockMax = new ArrayList<double[]>();
+
+        // If it crashed partway through a write, some columns can be longer than others. Go with the shortest.
+        long rows = Long.MAX_VALUE;
+        for(FileChannel column : this.columns) {
+            rows = Math.min(rows, column.size() / 8);
+        }
+        this.blockStart = rows / BLOCK_ROWS * BLOCK_ROWS;
+        long fullBlocks = rows / BLOCK_ROWS;
+        long indexed = this.index.size() / indexEntryBytes();
+        ByteBuffer entry = ByteBuffer.allocate(indexEntryBytes());
+        ByteBuffer bytes = ByteBuffer.allocate(BLOCK_ROWS * 8);
+        for(long b = 0; b < fullBlocks; ++b) {
+            double[] min = new double[COLUMNS];
+            double[] max = new double[COLUMNS];
+            boolean stale = b >= indexed;
+            if(!stale) {
+                entry.clear();
+                readFully(this.index, entry, b * indexEntryBytes());
+                entry.flip();
+                for(int c = 0; c < COLUMNS; ++c) {
+                    min[c] = entry.getDouble();
+                    max[c] = entry.getDouble();
+                    // Older stores let one NaN make the whole min NaN, which skipped blocks it shouldn't have. Now the
+                    // min is only NaN if every row is, so working those out again is cheap and rare.
+                    stale |= Double.isNaN(min[c]);
+                }
+            }
+            if(stale) {
+                // The index didn't get written before a crash, or is from before NaNs were handled, so work it out again.
+                readBlock(b * BLOCK_ROWS, BLOCK_ROWS, allColumns(), this.buffer, bytes);
+                blockRange(this.buffer, BLOCK_ROWS, min, max);
+                writeIndexEntry(b, min, max);
+            }
+            this.blockMin.add(min);
+            this.blockMax.add(max);
+        }
+        // Pull the last, partly full block back into the buffer so new rows go on the end of it.
+        this.buffered = (int) (rows - this.blockStart);
+        this.written = this.buffered;
+        if(this.buffered > 0) {
+            readBlock(this.blockStart, this.buffered, allColumns(), this.buffer, bytes);
+            double[] min = new double[COLUMNS];
+            double[] max = new double[COLUMNS];
+            blockRange(this.buffer, this.buffered, min, max);
+            writeIndexEntry(fullBlocks, min, max);
+            this.blockMin.add(min);
+            this.blockMax.add(max);
+        }
+        for(FileChannel column : this.columns) {
+            column.truncate(rows * 8);
+        }
+        this.index.truncate((long) this.blockMin.size() * indexEntryBytes());
+    }
+
+    /**
+     * @return How many rows there are, including ones that haven't been written yet.
+     */
+    public synchronized long rows() {
+        return this.blockStart + this.buffered;
+    }
+
+    /**
+     * Adds a row.
+     *
+     * @param values One value for each column.
+     */
+    public synchronized void append(double[] values) {
+        for(int c = 0; c < COLUMNS; ++c) {
+            this.buffer[c][this.buffered] = values[c];
+        }
+        this.buffered++;
+        if(this.buffered == BLOCK_ROWS) {
+            try {
+                flush();
+            } catch(IOException e) {
+                throw new IllegalStateException("Couldn't write to " + this.directory, e);
+            }
+        }
+    }
+
+    /**
+     * Adds a sweep result.
+     */
+    public void append(AutoTuner.Evaluation evaluation) {
+        double[] values = Arrays.copyOf(evaluation.parameters, COLUMNS);
+        values[COST] = evaluation.cost;
+        values[TIME] = evaluation.time;
+        values[MAX_ERROR] = evaluation.maxError;
+        append(values);
+    }
+
+    /**
+     * Writes whatever's in the buffer, and the index entry for it.
+     */
+    public synchronized void flush() throws IOException {
+        if(this.buffered == this.written) {
+            return;
+        }
+        ByteBuffer bytes = ByteBuffer.allocate((this.buffered - this.written) * 8);
+        for(int c = 0; c < COLUMNS; ++c) {
+            bytes.clear();
+            for(int i = this.written; i < this.buffered; ++i) {
+                bytes.putDouble(this.buffer[c][i]);
+            }
+            bytes.flip();
+            writeFully(this.columns[c], bytes, (this.blockStart + this.written) * 8);
+        }
+
+        // The last block's entry gets rewritten every time it grows.
+        double[] min = new double[COLUMNS];
+        double[] max = new double[COLUMNS];
+        blockRange(this.buffer, this.buffered, min, max);
+        int block = (int) (this.blockStart / BLOCK_ROWS);
+        writeIndexEntry(block, min, max);
+        if(block < this.blockMin.size()) {
+            this.blockMin.set(block, min);
+            this.blockMax.set(block, max);
+        } else {
+            this.blockMin.add(min);
+            this.blockMax.add(max);
+        }
+
+        this.written = this.buffered;
+        if(this.buffered == BLOCK_ROWS) {
+            this.blockStart += BLOCK_ROWS;
+            this.buffered = 0;
+            this.written = 0;
+        }
+    }
+
+    /**
+     * Finds rows.
+     *
+     * @param query What to look for.
+     *
+     * @return The matching rows, sorted if the query says to, and no more than its limit.
+     */
+    public List<Row> query(Query query) throws IOException {
+        // Nothing to keep, and the top-n code below needs room for at least one row.
+        if(query.limit <= 0) {
+            return new ArrayList<Row>();
+        }
+        long rows;
+        int blocks;
+        List<double[]> blockMin;
+        List<double[]> blockMax;
+        synchronized(this) {
+            flush();
+            rows = rows();
+            blocks = this.blockMin.size();
+            blockMin = new ArrayList<double[]>(this.blockMin);
+            blockMax = new ArrayList<double[]>(this.blockMax);
+        }
+
+        // Worst row we're keeping on top, so it's the one that gets kicked out.
+        Comparator<Row> order = query.orderBy < 0 ? null : Comparator.comparingDouble((Row row) -> row.values[query.orderBy]);
+        Comparator<Row> worstFirst = order == null ? null : (query.ascending ? order.reversed() : order);
+        PriorityQueue<Row> top = order == null ? null : new PriorityQueue<Row>(worstFirst);
+        List<Row> matches = new ArrayList<Row>();
+
+        boolean[] filtered = new boolean[COLUMNS];
+        for(int c = 0; c < COLUMNS; ++c) {
+            filtered[c] = query.filters(c);
+        }
+        double[][] block = new double[COLUMNS][BLOCK_ROWS];
+        ByteBuffer bytes = ByteBuffer.allocate(BLOCK_ROWS * 8);
+
+        for(int b = 0; b < blocks; ++b) {
+            if(!mightMatch(query, blockMin.get(b), blockMax.get(b), top)) {
+                continue;
+            }
+            long start = (long) b * BLOCK_ROWS;
+            int count = (int) Math.min(BLOCK_ROWS, rows - start);
+            // Read the filter columns first, and the rest only if something in the block matched.
+            readBlock(start, count, filtered, block, bytes);
+            boolean[] match = new boolean[count];
+            boolean any = false;
+            for(int i = 0; i < count; ++i) {
+                match[i] = true;
+                for(int c = 0; c < COLUMNS && match[i]; ++c) {
+                    match[i] = !filtered[c] || (block[c][i] >= query.lower[c] && block[c][i] <= query.upper[c]);
+                }
+                any |= match[i];
+            }
+            if(!any) {
+                continue;
+            }
+            boolean[] rest = new boolean[COLUMNS];
+            for(int c = 0; c < COLUMNS; ++c) {
+                rest[c] = !filtered[c];
+            }
+            readBlock(start, count, rest, block, bytes);
+
+            for(int i = 0; i < count; ++i) {
+                if(!match[i]) {
+                    continue;
+                }
+                double[] values = new double[COLUMNS];
+                for(int c = 0; c < COLUMNS; ++c) {
+                    values[c] = block[c][i];
+                }
+                Row row = new Row(start + i, values);
+                if(top == null) {
+                    matches.add(row);
+                    if(matches.size() == query.limit) {
+                        return matches;
+                    }
+                } else if(top.size() < query.limit) {
+                    top.add(row);
+                } else if(worstFirst.compare(row, top.peek()) > 0) {
+                    top.poll();
+                    top.add(row);
+                }
+            }
+        }
+
+        if(top != null) {
+            matches.addAll(top);
+            matches.sort(worstFirst.reversed());
+        }
+
+        return matches;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        for(FileChannel column : this.columns) {
+            column.close();
+        }
+        this.index.close();
+    }
+
+    /**
+     * @return False if the block's min and max say none of its rows can match, or can't beat the worst top-k row so far.
+     */
+    private static boolean mightMatch(Query query, double[] min, double[] max, PriorityQueue<Row> top) {
+        for(int c = 0; c < COLUMNS; ++c) {
+            if(max[c] < query.lower[c] || min[c] > query.upper[c]) {
+                return false;
+            }
+        }
+        if(top != null && top.size() >= query.limit) {
+            double worst = top.peek().values[query.orderBy];
+            // Ties can't knock anything out, so they don't count. Double.compare so NaN goes where the sort puts it.
+            return query.ascending ? Double.compare(min[query.orderBy], worst) < 0 : Double.compare(max[query.orderBy], worst) > 0;
+        }
+
+        return true;
+    }
+
+    private void readBlock(long start, int count, boolean[] which, double[][] into, ByteBuffer bytes) throws IOException {
+        for(int c = 0; c < COLUMNS; ++c) {
+            if(!which[c]) {
+                continue;
+            }
+            bytes.clear();
+            bytes.limit(count * 8);
+            readFully(this.columns[c], bytes, start * 8);
+            bytes.flip();
+            bytes.asDoubleBuffer().get(into[c], 0, count);
+        }
+    }
+
+    private void writeIndexEntry(long block, double[] min, double[] max) throws IOException {
+        ByteBuffer entry = ByteBuffer.allocate(indexEntryBytes());
+        for(int c = 0; c < COLUMNS; ++c) {
+            entry.putDouble(min[c]).putDouble(max[c]);
+        }
+        entry.flip();
+        writeFully(this.index, entry, block * indexEntryBytes());
+    }
+
+    /**
+     * Min and max in {@code Double.compare} order, where NaN is the biggest. Math.min would let one NaN make the min
+     * NaN too, and then the block never looks like it has anything small in it.
+     */
+    private static void blockRange(double[][] block, int count, double[] min, double[] max) {
+        for(int c = 0; c < COLUMNS; ++c) {
+            min[c] = Double.NaN;
+            max[c] = Double.NEGATIVE_INFINITY;
+            for(int i = 0; i < count; ++i) {
+                if(Double.compare(block[c][i], min[c]) < 0) {
+                    min[c] = block[c][i];
+                }
+                if(Double.compare(block[c][i], max[c]) > 0) {
+                    max[c] = block[c][i];
+                }
+            }
+        }
+    }
+
+    private static boolean[] allColumns() {
+        boolean[] all = new boolean[COLUMNS];
+        Arrays.fill(all, true);
+
+        return all;
+    }
+
+    private static int indexEntryBytes() {
+        return COLUMNS * 2 * 8;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while(buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if(read < 0) {
+                throw new IOException("File ended early.");
+            }
+            position += read;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while(buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * Arguments: the store directory (default sweep-results), then optionally how many random parameter sets to
+     * simulate and add first. Prints the fastest runs that finished and stayed within 10 inches of the path.
+     * (On the test path the robot starts pointed 45 degrees off, so nothing gets much under 8.)
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = Paths.get(args.length > 0 ? args[0] : "sweep-results");
+        int add = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+
+        try(SweepResultStore store = new SweepResultStore(directory)) {
+            if(add > 0) {
+                AutoTuner tuner = new AutoTuner(SweepWorker.route(null), new double[AutoTuner.PARAMETERS], new double[AutoTuner.PARAMETERS]);
+                SplittableRandom random = new SplittableRandom(store.rows());
+                long start = System.nanoTime();
+                IntStream.range(0, add).parallel().forEach(i -> {
+                    double[] parameters;
+                    synchronized(random) {
+                        parameters = new double[] {random.nextDouble(6.0, 30.0), random.nextDouble(5.0, 60.0), random.nextDouble(1.0, 20.0),
+                            random.nextDouble(20.0, 40.0)};
+                    }
+                    store.append(tuner.evaluate(parameters, Double.POSITIVE_INFINITY));
+                });
+                System.out.println("Added " + add + " runs in " + (System.nanoTime() - start) / 1e6 + " ms");
+            }
+
+            long start = System.nanoTime();
+            List<Row> fastest = store.query(new Query().where(COST, 0.0, Double.MAX_VALUE).where(MAX_ERROR, 0.0, 10.0).orderBy(TIME, true).limit(10));
+            System.out.println(store.rows() + " rows, query took " + (System.nanoTime() - start) / 1e6 + " ms");
+            for(Row row : fastest) {
+                System.out.println(row);
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * <h1> SweepResultStoreTest </h1>
+ *
+ * Checks that a NaN in a block doesn't get that block skipped by a sorted query. AutoTuner gives a NaN max error
+ * when a run blows up, so a block can easily have one next to the best row in the whole store.
+ *
+ * Block 0 has max errors from 3.0 to 3.4, and block 1 has a NaN and a 0.5. Asking for the one smallest max error has
+ * to find the 0.5, asking for the biggest has to find the NaN, and both have to still work after reopening the store,
+ * including from an index written the old way, with NaN for the block's min and max.
+ *
+ * Run it with {@code java -ea SweepResultStoreTest}.
+ *
+ * @since 2026-10-19
+ */
+public class SweepResultStoreTest {
+    public static void main(String[] args) throws IOException {
+        Path directory = Files.createTempDirectory("sweep-results");
+        long best = SweepResultStore.BLOCK_ROWS + 1;
+        long nan = SweepResultStore.BLOCK_ROWS;
+        try(SweepResultStore store = new SweepResultStore(directory)) {
+            for(int i = 0; i < SweepResultStore.BLOCK_ROWS; ++i) {
+                store.append(row(3.0 + 0.4 * i / SweepResultStore.BLOCK_ROWS));
+            }
+            store.append(row(Double.NaN));
+            store.append(row(0.5));
+            check(store, best, nan, "fresh");
+        }
+        try(SweepResultStore store = new SweepResultStore(directory)) {
+            check(store, best, nan, "reopened");
+        }
+
+        // Make block 1's max error entry look like the old index, then make sure reopening fixes it.
+        try(FileChannel index = FileChannel.open(directory.resolve("index.bin"), StandardOpenOption.WRITE)) {
+            ByteBuffer entry = ByteBuffer.allocate(16).putDouble(Double.NaN).putDouble(Double.NaN);
+            entry.flip();
+            index.write(entry, (SweepResultStore.COLUMNS + SweepResultStore.MAX_ERROR) * 16L);
+        }
+        try(SweepResultStore store = new SweepResultStore(directory)) {
+            check(store, best, nan, "old index");
+        }
+        System.out.println("NaN rows sorted last going up and first going down, fresh, reopened and from an old index");
+    }
+
+    private static double[] row(double maxError) {
+        double[] values = new double[SweepResultStore.COLUMNS];
+        values[SweepResultStore.MAX_ERROR] = maxError;
+
+        return values;
+    }
+
+    private static void check(SweepResultStore store, long best, long nan, String what) throws IOException {
+        List<SweepResultStore.Row> smallest = store.query(new SweepResultStore.Query().orderBy(SweepResultStore.MAX_ERROR, true).limit(1));
+        if(smallest.size() != 1 || smallest.get(0).number != best) {
+            throw new AssertionError(what + ": smallest max error should be #" + best + ", got " + smallest);
+        }
+        List<SweepResultStore.Row> biggest = store.query(new SweepResultStore.Query().orderBy(SweepResultStore.MAX_ERROR, false).limit(1));
+        if(biggest.size() != 1 || biggest.get(0).number != nan) {
+            throw new AssertionError(what + ": biggest max error should be the NaN, #" + nan + ", got " + biggest);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * <h1> SweepWorker </h1>
+ *
+ * One worker JVM in a parameter sweep. It connects to a {@code SweepCoordinator}, then keeps asking for chunks of
+ * parameter sets, simulating each one with {@code AutoTuner.evaluate} and sending the results back, until the
+ * coordinator says it's done. Start as many of these as you want, on this computer or any other one that can reach it.
+ *
+ * The protocol is plain text, one thing per line, so it's easy to watch with netcat:
+ * <pre>
+ * worker:      READY name
+ * coordinator: CHUNK id count, then count lines of "lookahead maxVel accel trackLength"
+ * worker:      RESULT id count, then count lines of "lookahead maxVel accel trackLength cost time maxError"
+ * coordinator: another CHUNK, or DONE
+ * </pre>
+ *
+ * <b> UNITS ARE IN INCHES. </b>
+ *
+ * @since 2026-10-19
+ */
+public class SweepWorker {
+    public final String name;
+    public final AutoTuner tuner;
+    // Quit without answering after this many chunks, to test the coordinator's retries. -1 never quits.
+    public int failAfter;
+    public int chunks;
+
+    /**
+     * Constructor.
+     *
+     * @param name What to call this worker in the coordinator's output.
+     * @param route The path every parameter set gets tried on.
+     */
+    public SweepWorker(String name, double[][] route) {
+        this.name = name;
+        // Only evaluate gets used, so the bounds don't matter.
+        this.tuner = new AutoTuner(route, new double[AutoTuner.PARAMETERS], new double[AutoTuner.PARAMETERS]);
+        this.failAfter = -1;
+    }
+
+    /**
+     * Works until the coordinator runs out of chunks.
+     *
+     * @param host The coordinator's address.
+     * @param port The coordinator's port.
+     */
+    public void work(String host, int port) throws IOException {
+        try(Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+            out.write("READY " + this.name + "\n");
+            out.flush();
+
+            String line;
+            while((line = in.readLine()) != null && !line.equals("DONE")) {
+                String[] header = line.split(" ");
+                if(header.length != 3 || !header[0].equals("CHUNK")) {
+                    throw new IOException("Expected a chunk, got: " + line);
+                }
+                int count = Integer.parseInt(header[2]);
+                double[][] parameters = new double[count][];
+                for(int i = 0; i < count; ++i) {
+                    parameters[i] = parse(in.readLine(), AutoTuner.PARAMETERS);
+                }
+                if(this.chunks == this.failAfter) {
+                    return;
+                }
+
+                StringBuilder reply = new StringBuilder();
+                reply.append("RESULT ").append(header[1]).append(' ').append(count).append('\n');
+                for(double[] set : parameters) {
+                    AutoTuner.Evaluation evaluation = this.tuner.evaluate(set, Double.POSITIVE_INFINITY);
+                    for(double value : set) {
+                        reply.append(value).append(' ');
+                    }
+                    reply.append(evaluation.cost).append(' ').append(evaluation.time).append(' ').append(evaluation.maxError).append('\n');
+                }
+                out.write(reply.toString());
+                out.flush();
+                this.chunks++;
+            }
+        }
+    }
+
+    /**
+     * Reads a line of space separated numbers.
+     *
+     * @param line The line.
+     * @param count How many numbers there should be.
+     *
+     * @return The numbers.
+     */
+    public static double[] parse(String line, int count) throws IOException {
+        if(line == null) {
+            throw new IOException("Connection closed in the middle of a chunk.");
+        }
+        String[] parts = line.trim().split(" ");
+        if(parts.length != count) {
+            throw new IOException("Expected " + count + " numbers, got: " + line);
+        }
+        double[] values = new double[count];
+        for(int i = 0; i < count; ++i) {
+            values[i] = Double.parseDouble(parts[i]);
+        }
+
+        return values;
+    }
+
+    /**
+     * The path to sweep on: a route file, like {@code PathCompiler} reads, or the test path from {@code Main} if there isn't one.
+     */
+    public static double[][] route(String file) throws IOException {
+        if(file == null) {
+            return new Spline(new double[][] {
+                {0.0, 0.0},
+                {1.0, 1.0},
+                {0.0, 0.0},
+            }, new double[][] {
+                {100.0, 100.0},
+                {0.0, 0.0},
+                {0.0, 0.0},
+            }).sampleEven(6.0, 0.000001);
+        }
+        String text = new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.UTF_8);
+        PathCompiler.Route route = PathCompiler.Route.parse(text, file);
+
+        return new Spline(route.start, route.end).sampleEven(route.spacing, 0.000001);
+    }
+
+    /**
+     * Arguments: host, port, worker name, then optionally a route file and {@code --fail-after n}.
+     */
+    public static void main(String[] args) throws IOException {
+        String routeFile = null;
+        int failAfter = -1;
+        for(int i = 3; i < args.length; ++i) {
+            if(args[i].equals("--fail-after")) {
+                failAfter = Integer.parseInt(args[++i]);
+            } else {
+                routeFile = args[i];
+            }
+        }
+        SweepWorker worker = new SweepWorker(args[2], route(routeFile));
+        worker.failAfter = failAfter;
+        worker.work(args[0], Integer.parseInt(args[1]));
+    }
+}
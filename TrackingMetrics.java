@@ -0,0 +1,178 @@
+import java.lang.Math;
+
+/**
+ * <h1> TrackingMetrics </h1>
+ *
+ * How well a run followed the path, added up tick by tick so we don't have to keep (or eyeball) the whole printout.
+ * Everything is running totals (Welford's algorithm for the mean and variance), so it's the same few numbers
+ * no matter how long the run is.
+ *
+ * Call {@code record} every tick, after the generator has worked out the wheel velocities, then {@code finish} at the end.
+ * Cross-track error is the distance from the robot to the point {@code closestPoint} picked; heading error is the angle
+ * between the robot and the path segment starting at that point.
+ *
+ * <b> UNITS ARE IN INCHES. </b>
+ *
+ * @since 2026-10-19
+ */
+public class TrackingMetrics {
+    // Wheel speed, in in/s, that counts as maxed out.
+    public double saturationVelocity;
+
+    private long ticks;
+    private double time;
+    private double saturatedTime;
+    private double crossTrackMean;
+    private double crossTrackM2;
+    private double crossTrackSquares;
+    private double crossTrackMax;
+    private double headingSquares;
+    private double headingMax;
+    private double progress;
+    private boolean finished;
+    private boolean reachedGoal;
+
+    /**
+     * The results of a run.
+     */
+    public static final class Summary {
+        public final long ticks;
+        public final double time;
+        // NaN if the robot never got to the end.
+        public final double completionTime;
+        public final boolean reachedGoal;
+        public final double progress;
+        public final double meanCrossTrack;
+        public final double crossTrackStdDev;
+        public final double rmsCrossTrack;
+        public final double maxCrossTrack;
+        public final double rmsHeading;
+        public final double maxHeading;
+        public final double saturatedTime;
+
+        private Summary(TrackingMetrics metrics) {
+            this.ticks = metrics.ticks;
+            this.time = metrics.time;
+            this.reachedGoal = metrics.reachedGoal;
+            this.completionTime = metrics.reachedGoal ? metrics.time : Double.NaN;
+            this.progress = metrics.reachedGoal ? 1.0 : metrics.progress;
+            this.meanCrossTrack = metrics.crossTrackMean;
+            this.crossTrackStdDev = metrics.ticks > 1 ? Math.sqrt(metrics.crossTrackM2 / (metrics.ticks - 1)) : 0.0;
+            this.rmsCrossTrack = metrics.ticks > 0 ? Math.sqrt(metrics.crossTrackSquares / metrics.ticks) : 0.0;
+            this.maxCrossTrack = metrics.crossTrackMax;
+            this.rmsHeading = metrics.ticks > 0 ? Math.sqrt(metrics.headingSquares / metrics.ticks) : 0.0;
+            this.maxHeading = metrics.headingMax;
+            this.saturatedTime = metrics.saturatedTime;
+        }
+
+        @Override
+        public String toString() {
+            return (this.reachedGoal ? "Done in " + this.completionTime + " s" : "Didn't finish (" + 100.0 * this.progress + "% of the path)")
+                + ", cross-track error mean/RMS/max " + this.meanCrossTrack + "/" + this.rmsCrossTrack + "/" + this.maxCrossTrack
+                + " in, heading error RMS/max " + this.rmsHeading + "/" + this.maxHeading + " degrees, saturated for " + this.saturatedTime + " s";
+        }
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param saturationVelocity Wheel speed, in in/s, that counts as maxed out. Infinity if you don't care.
+     */
+    public TrackingMetrics(double saturationVelocity) {
+        this.saturationVelocity = saturationVelocity;
+    }
+
+    /**
+     * Clears everything, so the same object can be used for another run.
+     */
+    public void reset() {
+        this.ticks = 0;
+        this.time = 0.0;
+        this.saturatedTime = 0.0;
+        this.crossTrackMean = 0.0;
+        this.crossTrackM2 = 0.0;
+        this.crossTrackSquares = 0.0;
+        this.crossTrackMax = 0.0;
+        this.headingSquares = 0.0;
+        this.headingMax = 0.0;
+        this.progress = 0.0;
+        this.finished = false;
+        this.reachedGoal = false;
+    }
+
+    /**
+     * Adds one tick. The generator has to have already worked out this tick's velocities, so its robot position
+     * and closest point are up to date.
+     *
+     * @param generator The path generator.
+     * @param left The left wheel command.
+     * @param right The right wheel command.
+     * @param dt How long the tick is, in seconds.
+     */
+    public void record(PathGenerator generator, double left, double right, double dt) {
+        int closest = generator.prevClosestPoint;
+        int next = Math.min(closest + 1, generator.pointCount() - 1);
+        double x = generator.robotPos[0][0];
+        double y = generator.robotPos[0][1];
+
+        double crossTrack = PathGenerator.Magnitude(x, y, generator.pointX(closest), generator.pointY(closest));
+        this.ticks++;
+        double delta = crossTrack - this.crossTrackMean;
+        this.crossTrackMean += delta / this.ticks;
+        this.crossTrackM2 += delta * (crossTrack - this.crossTrackMean);
+        this.crossTrackSquares += crossTrack * crossTrack;
+        this.crossTrackMax = Math.max(this.crossTrackMax, crossTrack);
+
+        if(next != closest) {
+            double pathAngle = Math.toDegrees(Math.atan2(generator.pointY(next) - generator.pointY(closest), generator.pointX(next) - generator.pointX(closest)));
+            double heading = Math.abs(generator.robotAngle - pathAngle) % 360.0;
+            heading = Math.min(heading, 360.0 - heading);
+            this.headingSquares += heading * heading;
+            this.headingMax = Math.max(this.headingMax, heading);
+        }
+
+        if(Math.abs(left) >= this.saturationVelocity || Math.abs(right) >= this.saturationVelocity) {
+            this.saturatedTime += dt;
+        }
+        this.time += dt;
+        this.progress = Math.max(this.progress, (double) closest / (generator.pointCount() - 1));
+    }
+
+    /**
+     * Marks the run as over.
+     *
+     * @param reachedGoal If the robot made it to the end of the path.
+     */
+    public void finish(boolean reachedGoal) {
+        this.finished = true;
+        this.reachedGoal = reachedGoal;
+    }
+
+    /**
+     * @return True once {@code finish} has been called.
+     */
+    public boolean isFinished() {
+        return this.finished;
+    }
+
+    /**
+     * @return The simulation time so far, in seconds.
+     */
+    public double time() {
+        return this.time;
+    }
+
+    /**
+     * @return The worst cross-track error so far, in inches.
+     */
+    public double maxCrossTrack() {
+        return this.crossTrackMax;
+    }
+
+    /**
+     * @return The results so far.
+     */
+    public Summary summary() {
+        return new Summary(this);
+    }
+}
@@ -0,0 +1,80 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+
+/**
+ * <h1> UdpSetpointTransport </h1>
+ *
+ * {@link SetpointTransport} over loopback UDP. One datagram per message, no acks,
+ * so a lost packet is just a missed tick, same as on the field.
+ *
+ * @since 2026-10-19
+ */
+public class UdpSetpointTransport implements SetpointTransport {
+    private final DatagramSocket socket;
+    private final byte[] sendBytes = new byte[MESSAGE_SIZE];
+    private final byte[] receiveBytes = new byte[MESSAGE_SIZE];
+    private final ByteBuffer sendBuffer = ByteBuffer.wrap(this.sendBytes);
+    private final ByteBuffer receiveBuffer = ByteBuffer.wrap(this.receiveBytes);
+    private final DatagramPacket sendPacket;
+    private final DatagramPacket receivePacket;
+
+    /**
+     * Constructor.
+     *
+     * @param localPort The port we listen on.
+     * @param remotePort The port the other process listens on.
+     */
+    public UdpSetpointTransport(int localPort, int remotePort) {
+        try {
+            InetAddress loopback = InetAddress.getLoopbackAddress();
+            this.socket = new DatagramSocket(new InetSocketAddress(loopback, localPort));
+            this.sendPacket = new DatagramPacket(this.sendBytes, MESSAGE_SIZE, loopback, remotePort);
+            this.receivePacket = new DatagramPacket(this.receiveBytes, MESSAGE_SIZE);
+        } catch(IOException e) {
+            throw new UncheckedIOException("Couldn't open UDP port " + localPort, e);
+        }
+    }
+
+    @Override
+    public void send(Message message) {
+        this.sendBuffer.clear();
+        message.write(this.sendBuffer);
+        try {
+            this.socket.send(this.sendPacket);
+        } catch(IOException e) {
+            throw new UncheckedIOException("Couldn't send a message.", e);
+        }
+    }
+
+    @Override
+    public boolean receive(Message message, long timeoutNanos) {
+        try {
+            // 0 means forever to DatagramSocket, so always wait at least a millisecond.
+            this.socket.setSoTimeout((int) Math.max(1L, timeoutNanos / 1_000_000L));
+            this.receivePacket.setLength(MESSAGE_SIZE);
+            this.socket.receive(this.receivePacket);
+        } catch(SocketTimeoutException e) {
+            return false;
+        } catch(IOException e) {
+            throw new UncheckedIOException("Couldn't receive a message.", e);
+        }
+        if(this.receivePacket.getLength() != MESSAGE_SIZE) {
+            return false;
+        }
+        this.receiveBuffer.clear();
+        message.read(this.receiveBuffer);
+
+        return true;
+    }
+
+    @Override
+    public void close() {
+        this.socket.close();
+    }
+}